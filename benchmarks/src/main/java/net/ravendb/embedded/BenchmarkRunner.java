@@ -0,0 +1,79 @@
+package net.ravendb.embedded;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Properties;
+
+/**
+ * Runs benchmarks and writes JSON results to target/jmh-results/&lt;server version&gt;-&lt;timestamp&gt;.json,
+ * so runs against different server versions can be compared.
+ * <p>
+ * Build: mvn install -DskipTests (in root), then mvn package -f benchmarks/pom.xml
+ * <br>
+ * Usage: java -jar target/benchmarks.jar [JMH options, e.g. benchmark regex]
+ * <br>
+ * With -Dbenchmarks.threads=1,4,16 benchmarks are run for each thread count, results of each go to a separate file.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+
+        Properties properties = loadProperties();
+
+        String baseName = properties.getProperty("server.version", "unknown") + "-"
+                + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+
+        String threads = System.getProperty("benchmarks.threads");
+        if (threads == null) {
+            run(commandLineOptions, properties, null, new File("target/jmh-results", baseName + ".json"));
+            return;
+        }
+
+        for (String count : threads.split(",")) {
+            int threadCount = Integer.parseInt(count.trim());
+            run(commandLineOptions, properties, threadCount, new File("target/jmh-results", baseName + "-t" + threadCount + ".json"));
+        }
+    }
+
+    private static void run(CommandLineOptions commandLineOptions, Properties properties, Integer threads, File results) throws Exception {
+        //noinspection ResultOfMethodCallIsIgnored
+        results.getParentFile().mkdirs();
+
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(commandLineOptions)
+                .resultFormat(ResultFormatType.JSON)
+                .result(results.getAbsolutePath())
+                .jvmArgsAppend("-Dserver.version=" + properties.getProperty("server.version", "unknown"));
+
+        if (threads != null) {
+            builder.threads(threads);
+        }
+
+        Options options = builder.build();
+
+        new Runner(options).run();
+
+        System.out.println("Results written to " + results.getAbsolutePath());
+    }
+
+    private static Properties loadProperties() throws IOException {
+        Properties properties = new Properties();
+        // written by the build of ravendb-embedded, so it matches the server benchmarks run against
+        try (InputStream stream = EmbeddedServer.class.getResourceAsStream("version.properties")) {
+            if (stream != null) {
+                properties.load(stream);
+            }
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,89 @@
+package net.ravendb.embedded;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaling of {@link BulkLoader} with number of partitions. Throughput is reported as documents/sec;
+ * each invocation loads the whole NDJSON file into its own database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class BulkLoaderBenchmark {
+
+    private static final int DOCUMENTS = 100_000;
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int partitions;
+
+    private File workDirectory;
+    private EmbeddedServer server;
+    private Path input;
+    private int loads;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        workDirectory = Files.createTempDirectory("ravendb-embedded-benchmark").toFile();
+
+        input = new File(workDirectory, "people.ndjson").toPath();
+        try (BufferedWriter writer = Files.newBufferedWriter(input, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < DOCUMENTS; i++) {
+                writer.write("{\"id\":\"people/" + i + "\",\"name\":\"Person " + i + "\",\"age\":" + (i % 90)
+                        + ",\"city\":\"City " + (i % 1000) + "\",\"tags\":[\"a\",\"b\",\"c\"]}\n");
+            }
+        }
+
+        ServerOptions options = new ServerOptions();
+        options.setTargetServerLocation(new File(workDirectory, "RavenDBServer").getAbsolutePath());
+        options.setDataDirectory(new File(workDirectory, "RavenDB").getAbsolutePath());
+        options.setLogsPath(new File(workDirectory, "Logs").getAbsolutePath());
+
+        server = new EmbeddedServer();
+        server.startServer(options);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        server.close();
+        FileUtils.deleteDirectory(workDirectory);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DOCUMENTS)
+    public BulkLoadResult loadNdjson() throws IOException {
+        BulkLoadOptions options = new BulkLoadOptions();
+        options.setCollection("People");
+        options.setIdField("id");
+        options.setPartitions(partitions);
+
+        // fresh database, so partitions don't overwrite documents loaded by previous invocations
+        String database = "Load_" + partitions + "_" + (++loads);
+        return new BulkLoader(server.getDocumentStore(database), options)
+                .loadNdjson(input);
+    }
+}
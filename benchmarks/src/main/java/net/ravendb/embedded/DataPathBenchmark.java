@@ -0,0 +1,155 @@
+package net.ravendb.embedded;
+
+import net.ravendb.client.documents.BulkInsertOperation;
+import net.ravendb.client.documents.IDocumentStore;
+import net.ravendb.client.documents.session.IDocumentSession;
+import net.ravendb.client.documents.session.StreamResult;
+import net.ravendb.client.primitives.CloseableIterator;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Data path through the embedded server: loads, stores, batched saves, bulk insert, indexed and streaming queries.
+ * Throughput is reported as ops/sec, SampleTime mode adds latency percentiles.
+ * <p>
+ * Concurrency is controlled by JMH threads, e.g. -t 16, or -Dbenchmarks.threads=1,4,16,64
+ * to sweep several thread counts (see {@link BenchmarkRunner}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class DataPathBenchmark {
+
+    private static final int DOCUMENTS = 10_000;
+    private static final int GROUPS = 100;
+    private static final int BATCH_SIZE = 100;
+    private static final int BULK_INSERT_SIZE = 1_000;
+    private static final int STREAMED_DOCUMENTS = 1_000;
+
+    @Param({"256", "4096", "65536"})
+    public int documentSize;
+
+    private File workDirectory;
+    private EmbeddedServer server;
+    private IDocumentStore store;
+    private String payload;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        workDirectory = Files.createTempDirectory("ravendb-embedded-benchmark").toFile();
+
+        ServerOptions options = new ServerOptions();
+        options.setTargetServerLocation(new File(workDirectory, "RavenDBServer").getAbsolutePath());
+        options.setDataDirectory(new File(workDirectory, "RavenDB").getAbsolutePath());
+        options.setLogsPath(new File(workDirectory, "Logs").getAbsolutePath());
+
+        server = new EmbeddedServer();
+        server.startServer(options);
+
+        store = server.getDocumentStore("DataPath_" + documentSize);
+        payload = StringUtils.repeat('x', documentSize);
+
+        try (BulkInsertOperation bulkInsert = store.bulkInsert()) {
+            for (int i = 0; i < DOCUMENTS; i++) {
+                bulkInsert.store(new Item(i % GROUPS, payload), "items/" + i);
+            }
+        }
+
+        // create auto index used by indexedQuery
+        try (IDocumentSession session = store.openSession()) {
+            session.advanced().rawQuery(Item.class, "from Items where group = 0")
+                    .waitForNonStaleResults(Duration.ofMinutes(5))
+                    .toList();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        server.close();
+        FileUtils.deleteDirectory(workDirectory);
+    }
+
+    @Benchmark
+    public Item load() {
+        try (IDocumentSession session = store.openSession()) {
+            return session.load(Item.class, "items/" + ThreadLocalRandom.current().nextInt(DOCUMENTS));
+        }
+    }
+
+    @Benchmark
+    public void store() {
+        try (IDocumentSession session = store.openSession()) {
+            session.store(new Item(0, payload));
+            session.saveChanges();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void batchedSaveChanges() {
+        try (IDocumentSession session = store.openSession()) {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                session.store(new Item(0, payload));
+            }
+            session.saveChanges();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BULK_INSERT_SIZE)
+    public void bulkInsert() {
+        try (BulkInsertOperation bulkInsert = store.bulkInsert()) {
+            for (int i = 0; i < BULK_INSERT_SIZE; i++) {
+                bulkInsert.store(new Item(0, payload));
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Item> indexedQuery() {
+        try (IDocumentSession session = store.openSession()) {
+            return session.advanced().rawQuery(Item.class, "from Items where group = $group")
+                    .addParameter("group", ThreadLocalRandom.current().nextInt(GROUPS))
+                    .toList();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STREAMED_DOCUMENTS)
+    public void streamingQuery(Blackhole blackhole) {
+        try (IDocumentSession session = store.openSession()) {
+            try (CloseableIterator<StreamResult<Item>> results = session.advanced()
+                    .stream(session.advanced().rawQuery(Item.class, "from Items limit " + STREAMED_DOCUMENTS))) {
+                while (results.hasNext()) {
+                    blackhole.consume(results.next().getDocument());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package net.ravendb.embedded;
+
+import net.ravendb.client.documents.IDocumentStore;
+import net.ravendb.client.documents.session.IDocumentSession;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads over loopback with client default conventions and with {@link EmbeddedConventions}.
+ * Add -prof gc to compare client allocations per operation and -prof net.ravendb.embedded.ProcessCpuProfiler
+ * to compare client and server CPU time per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class EmbeddedConventionsBenchmark {
+
+    private static final int DOCUMENT_SIZE = 32 * 1024;
+
+    @Param({"clientDefaults", "embedded"})
+    public String conventions;
+
+    private File workDirectory;
+    private EmbeddedServer server;
+    private IDocumentStore store;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        workDirectory = Files.createTempDirectory("ravendb-embedded-benchmark").toFile();
+
+        ServerOptions options = new ServerOptions();
+        options.setTargetServerLocation(new File(workDirectory, "RavenDBServer").getAbsolutePath());
+        options.setDataDirectory(new File(workDirectory, "RavenDB").getAbsolutePath());
+        options.setLogsPath(new File(workDirectory, "Logs").getAbsolutePath());
+
+        server = new EmbeddedServer();
+        server.startServer(options);
+        ProcessCpuProfiler.setServerPid(ProcessUtils.getPid(server.getServerProcess()));
+
+        DatabaseOptions databaseOptions = new DatabaseOptions("Conventions_" + conventions);
+        databaseOptions.setUseEmbeddedConventions("embedded".equals(conventions));
+        store = server.getDocumentStore(databaseOptions);
+
+        try (IDocumentSession session = store.openSession()) {
+            session.store(new Item(0, StringUtils.repeat('x', DOCUMENT_SIZE)), "items/1");
+            session.saveChanges();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        ProcessCpuProfiler.setServerPid(ProcessUtils.UNKNOWN_PID);
+        server.close();
+        FileUtils.deleteDirectory(workDirectory);
+    }
+
+    @Benchmark
+    public Item load() {
+        try (IDocumentSession session = store.openSession()) {
+            return session.load(Item.class, "items/1");
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package net.ravendb.embedded;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runtime matching done on every server start. {@code matchInstalled*} include running {@code dotnet --info},
+ * {@code matchInMemory} only the matching itself.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FrameworkVersionMatchBenchmark {
+
+    private final ServerOptions options = new ServerOptions();
+
+    private final RuntimeFrameworkVersionMatcher.RuntimeFrameworkVersion runtime =
+            new RuntimeFrameworkVersionMatcher.RuntimeFrameworkVersion("8.0.2+");
+
+    private final List<RuntimeFrameworkVersionMatcher.RuntimeFrameworkVersion> runtimes = Arrays.asList(
+            new RuntimeFrameworkVersionMatcher.RuntimeFrameworkVersion("6.0.25"),
+            new RuntimeFrameworkVersionMatcher.RuntimeFrameworkVersion("7.0.14"),
+            new RuntimeFrameworkVersionMatcher.RuntimeFrameworkVersion("8.0.0"),
+            new RuntimeFrameworkVersionMatcher.RuntimeFrameworkVersion("8.0.1"),
+            new RuntimeFrameworkVersionMatcher.RuntimeFrameworkVersion("8.0.2"),
+            new RuntimeFrameworkVersionMatcher.RuntimeFrameworkVersion("8.0.5"));
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(5)
+    public String matchInstalledCold() {
+        return RuntimeFrameworkVersionMatcher.match(options);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    @Fork(1)
+    public String matchInstalledWarm() {
+        return RuntimeFrameworkVersionMatcher.match(options);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Fork(1)
+    public String matchInMemory() {
+        return RuntimeFrameworkVersionMatcher.match(runtime, runtimes);
+    }
+}
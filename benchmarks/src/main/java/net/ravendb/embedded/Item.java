@@ -0,0 +1,39 @@
+package net.ravendb.embedded;
+
+public class Item {
+    private String id;
+    private int group;
+    private String payload;
+
+    public Item() {
+    }
+
+    public Item(int group, String payload) {
+        this.group = group;
+        this.payload = payload;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public int getGroup() {
+        return group;
+    }
+
+    public void setGroup(int group) {
+        this.group = group;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+}
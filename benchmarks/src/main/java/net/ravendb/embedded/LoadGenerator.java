@@ -0,0 +1,227 @@
+package net.ravendb.embedded;
+
+import net.ravendb.client.documents.IDocumentStore;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator: requests are issued at fixed arrival rate regardless of how fast the server responds.
+ * Latency is measured from the time request was scheduled to be sent, not from the time it was actually sent,
+ * so time spent waiting behind slow requests is included (no coordinated omission).
+ * <p>
+ * Every report interval prints per-operation latency percentiles of the interval, request backlog and
+ * resident memory and CPU usage of the server process, so memory growth and latency drift are visible over long runs.
+ */
+public class LoadGenerator {
+
+    @FunctionalInterface
+    public interface Operation {
+        void execute(IDocumentStore store) throws Exception;
+    }
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final IDocumentStore store;
+    private final double requestsPerSecond;
+    private final int maxConcurrency;
+
+    private final List<OperationStats> operations = new ArrayList<>();
+    private int totalWeight;
+
+    /**
+     * @param store             Store requests are sent to
+     * @param requestsPerSecond Arrival rate
+     * @param maxConcurrency    Maximum number of requests in progress. Requests over the limit wait in backlog,
+     *                          their waiting time is included in measured latency.
+     */
+    public LoadGenerator(IDocumentStore store, double requestsPerSecond, int maxConcurrency) {
+        if (requestsPerSecond <= 0) {
+            throw new IllegalArgumentException("requestsPerSecond must be positive");
+        }
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be at least 1");
+        }
+
+        this.store = store;
+        this.requestsPerSecond = requestsPerSecond;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * @param weight Relative share of requests of this operation in the mix
+     */
+    public LoadGenerator addOperation(String name, int weight, Operation operation) {
+        if (weight < 1) {
+            throw new IllegalArgumentException("weight must be at least 1");
+        }
+
+        operations.add(new OperationStats(name, weight, operation));
+        totalWeight += weight;
+        return this;
+    }
+
+    /**
+     * @param serverPid Pid of the server process, used for resource sampling
+     * @param csv       Interval reports in CSV format, can be null
+     */
+    public void run(Duration duration, Duration reportInterval, long serverPid, PrintStream out, PrintWriter csv) {
+        if (operations.isEmpty()) {
+            throw new IllegalStateException("No operations were added");
+        }
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "RavenDB-Embedded-Load-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        if (csv != null) {
+            csv.println("elapsed_s,operation,count,errors,p50_us,p99_us,p999_us,max_us,backlog,server_rss_bytes,server_cpu_percent");
+        }
+
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long nextReport = start + reportInterval.toNanos();
+
+        ProcessResourceUsage previousUsage = ProcessResourceUsage.read(serverPid);
+        long previousReport = start;
+
+        try {
+            for (long request = 0; ; request++) {
+                long intendedStart = start + request * intervalNanos;
+                if (intendedStart >= end) {
+                    break;
+                }
+
+                while (System.nanoTime() >= nextReport) {
+                    ProcessResourceUsage usage = ProcessResourceUsage.read(serverPid);
+                    long now = System.nanoTime();
+                    report(out, csv, now - start, executor.getQueue().size(), usage, previousUsage, now - previousReport);
+                    previousUsage = usage;
+                    previousReport = now;
+                    nextReport += reportInterval.toNanos();
+                }
+
+                long delay = intendedStart - System.nanoTime();
+                if (delay > 0) {
+                    LockSupport.parkNanos(delay);
+                }
+
+                OperationStats operation = pickOperation();
+                executor.execute(() -> execute(operation, intendedStart));
+            }
+
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long now = System.nanoTime();
+        report(out, csv, now - start, 0, ProcessResourceUsage.read(serverPid), previousUsage, now - previousReport);
+        summary(out);
+    }
+
+    private void execute(OperationStats operation, long intendedStart) {
+        try {
+            operation.operation.execute(store);
+        } catch (Exception e) {
+            operation.errors.increment();
+        }
+
+        operation.recorder.recordValue(System.nanoTime() - intendedStart);
+    }
+
+    private OperationStats pickOperation() {
+        int value = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (OperationStats operation : operations) {
+            value -= operation.weight;
+            if (value < 0) {
+                return operation;
+            }
+        }
+
+        return operations.get(operations.size() - 1);
+    }
+
+    private void report(PrintStream out, PrintWriter csv, long elapsedNanos, int backlog,
+                        ProcessResourceUsage usage, ProcessResourceUsage previousUsage, long intervalNanos) {
+        double elapsedSeconds = elapsedNanos / 1e9;
+        long rss = usage != null ? usage.getResidentBytes() : -1;
+        double cpu = usage != null && previousUsage != null
+                ? 100.0 * (usage.getCpuTimeNanos() - previousUsage.getCpuTimeNanos()) / intervalNanos
+                : -1;
+
+        out.printf("[%8.1fs] backlog: %d, server rss: %d MB, server cpu: %.1f%%%n",
+                elapsedSeconds, backlog, rss / (1024 * 1024), cpu);
+
+        for (OperationStats operation : operations) {
+            operation.interval = operation.recorder.getIntervalHistogram(operation.interval);
+            operation.total.add(operation.interval);
+
+            long errors = operation.errors.sumThenReset();
+            operation.totalErrors += errors;
+
+            Histogram h = operation.interval;
+            out.printf("    %-12s count: %8d  errors: %5d  p50: %9.3f ms  p99: %9.3f ms  p99.9: %9.3f ms  max: %9.3f ms%n",
+                    operation.name, h.getTotalCount(), errors,
+                    h.getValueAtPercentile(50) / NANOS_PER_MILLI, h.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                    h.getValueAtPercentile(99.9) / NANOS_PER_MILLI, h.getMaxValue() / NANOS_PER_MILLI);
+
+            if (csv != null) {
+                csv.printf("%.1f,%s,%d,%d,%d,%d,%d,%d,%d,%d,%.1f%n", elapsedSeconds, operation.name, h.getTotalCount(), errors,
+                        h.getValueAtPercentile(50) / 1000, h.getValueAtPercentile(99) / 1000,
+                        h.getValueAtPercentile(99.9) / 1000, h.getMaxValue() / 1000, backlog, rss, cpu);
+            }
+        }
+
+        if (csv != null) {
+            csv.flush();
+        }
+    }
+
+    private void summary(PrintStream out) {
+        for (OperationStats operation : operations) {
+            out.printf("%n%s: %d requests, %d errors, latency distribution (ms):%n",
+                    operation.name, operation.total.getTotalCount(), operation.totalErrors);
+            operation.total.outputPercentileDistribution(out, NANOS_PER_MILLI);
+        }
+    }
+
+    private static class OperationStats {
+        private final String name;
+        private final int weight;
+        private final Operation operation;
+
+        private final Recorder recorder = new Recorder(3);
+        private final Histogram total = new Histogram(3);
+        private final LongAdder errors = new LongAdder();
+
+        private Histogram interval;
+        private long totalErrors;
+
+        OperationStats(String name, int weight, Operation operation) {
+            this.name = name;
+            this.weight = weight;
+            this.operation = operation;
+        }
+    }
+}
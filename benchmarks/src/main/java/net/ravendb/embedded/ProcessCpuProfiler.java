@@ -0,0 +1,87 @@
+package net.ravendb.embedded;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reports CPU time per operation spent by the benchmark JVM and by the server process.
+ * Run with -prof net.ravendb.embedded.ProcessCpuProfiler, server CPU is reported on Linux only.
+ */
+public class ProcessCpuProfiler implements InternalProfiler {
+
+    private static volatile long serverPid = ProcessUtils.UNKNOWN_PID;
+
+    private long clientCpuStart;
+    private long serverCpuStart;
+
+    /**
+     * Sets the process measured as server, called from the benchmark setup.
+     */
+    static void setServerPid(long pid) {
+        serverPid = pid;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Client and server process CPU time per operation";
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+        clientCpuStart = readClientCpuTime();
+        serverCpuStart = readServerCpuTime();
+    }
+
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams,
+                                                       IterationResult result) {
+        long clientCpu = readClientCpuTime() - clientCpuStart;
+        long serverCpu = readServerCpuTime() - serverCpuStart;
+        long ops = result.getMetadata() != null ? result.getMetadata().getAllOps() : 0;
+
+        List<Result> results = new ArrayList<>();
+        if (ops <= 0) {
+            return results;
+        }
+
+        if (clientCpuStart >= 0 && clientCpu >= 0) {
+            results.add(new ScalarResult("cpu.client", clientCpu / 1000.0 / ops, "us/op", AggregationPolicy.AVG));
+        }
+
+        if (serverCpuStart >= 0 && serverCpu >= 0) {
+            results.add(new ScalarResult("cpu.server", serverCpu / 1000.0 / ops, "us/op", AggregationPolicy.AVG));
+        }
+
+        return results;
+    }
+
+    private static long readClientCpuTime() {
+        OperatingSystemMXBean bean = ManagementFactory.getOperatingSystemMXBean();
+        if (bean instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) bean).getProcessCpuTime();
+        }
+
+        return -1;
+    }
+
+    private static long readServerCpuTime() {
+        long pid = serverPid;
+        if (pid == ProcessUtils.UNKNOWN_PID) {
+            return -1;
+        }
+
+        ProcessResourceUsage usage = ProcessResourceUsage.read(pid);
+        return usage != null ? usage.getCpuTimeNanos() : -1;
+    }
+}
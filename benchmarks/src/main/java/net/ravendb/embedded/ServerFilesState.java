@@ -0,0 +1,52 @@
+package net.ravendb.embedded;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+
+/**
+ * Server zip bundled in ravendb-embedded jar, and the same files extracted, prepared once per trial.
+ */
+@State(Scope.Benchmark)
+public class ServerFilesState {
+
+    File workDirectory;
+    File zip;
+    File extracted;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        workDirectory = Files.createTempDirectory("ravendb-embedded-benchmark").toFile();
+        zip = new File(workDirectory, "ravendb-server.zip");
+        extracted = new File(workDirectory, "RavenDBServer");
+
+        try (InputStream stream = ExtractFromJarServerProvider.class.getResourceAsStream("/ravendb-server.zip")) {
+            if (stream == null) {
+                throw new IllegalStateException("Unable to find resource: ravendb-server.zip");
+            }
+            FileUtils.copyInputStreamToFile(stream, zip);
+        }
+
+        new ExtractFromJarServerProvider().provide(extracted.getAbsolutePath());
+    }
+
+    /**
+     * @return new empty directory inside work directory
+     */
+    File newDirectory(String prefix) throws IOException {
+        return Files.createTempDirectory(workDirectory.toPath(), prefix).toFile();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(workDirectory);
+    }
+}
@@ -0,0 +1,151 @@
+package net.ravendb.embedded;
+
+import net.ravendb.client.documents.IDocumentStore;
+import net.ravendb.client.documents.session.IDocumentSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server lifecycle: starting the process until it reports its url, first use of a document store
+ * (database creation and store initialization) and shutdown. Server files are laid out once per trial,
+ * so start measures only the process. Cold variants run once per fresh JVM, warm variants after warm-up iterations.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ServerLifecycleBenchmark {
+
+    private static final AtomicInteger DATABASE_COUNTER = new AtomicInteger();
+
+    @State(Scope.Thread)
+    public static class StoppedServer {
+        EmbeddedServer server;
+        ServerOptions options;
+
+        @Setup(Level.Invocation)
+        public void setup(ServerFilesState files) throws IOException {
+            server = new EmbeddedServer();
+            options = createOptions(files);
+        }
+
+        @TearDown(Level.Invocation)
+        public void tearDown() {
+            server.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class RunningServer {
+        EmbeddedServer server;
+
+        @Setup(Level.Invocation)
+        public void setup(ServerFilesState files) throws IOException {
+            server = new EmbeddedServer();
+            server.startServer(createOptions(files));
+        }
+
+        @TearDown(Level.Invocation)
+        public void tearDown() {
+            server.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class UsedServer {
+        EmbeddedServer server;
+
+        @Setup(Level.Invocation)
+        public void setup(ServerFilesState files) throws IOException {
+            server = new EmbeddedServer();
+            server.startServer(createOptions(files));
+            useNewDocumentStore(server);
+        }
+
+        @TearDown(Level.Invocation)
+        public void tearDown() {
+            server.close();
+        }
+    }
+
+    @Benchmark
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(5)
+    public void startToReadyCold(StoppedServer state) {
+        state.server.startServer(state.options);
+    }
+
+    @Benchmark
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    @Fork(1)
+    public void startToReadyWarm(StoppedServer state) {
+        state.server.startServer(state.options);
+    }
+
+    @Benchmark
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(5)
+    public Object firstDocumentStoreCold(RunningServer state) {
+        return useNewDocumentStore(state.server);
+    }
+
+    @Benchmark
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    @Fork(1)
+    public Object firstDocumentStoreWarm(RunningServer state) {
+        return useNewDocumentStore(state.server);
+    }
+
+    @Benchmark
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(5)
+    public Object closeCold(UsedServer state) {
+        return state.server.closeAsync().join();
+    }
+
+    @Benchmark
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    @Fork(1)
+    public Object closeWarm(UsedServer state) {
+        return state.server.closeAsync().join();
+    }
+
+    private static Object useNewDocumentStore(EmbeddedServer server) {
+        IDocumentStore store = server.getDocumentStore("Benchmark_" + DATABASE_COUNTER.incrementAndGet());
+        try (IDocumentSession session = store.openSession()) {
+            return session.load(Object.class, "items/1");
+        }
+    }
+
+    private static ServerOptions createOptions(ServerFilesState files) throws IOException {
+        File dataDirectory = files.newDirectory("data");
+
+        ServerOptions options = new ServerOptions();
+        options.setTargetServerLocation(files.extracted.getAbsolutePath());
+        options.setDataDirectory(dataDirectory.getAbsolutePath());
+        options.setLogsPath(new File(dataDirectory, "Logs").getAbsolutePath());
+        // files are already in place
+        options.provider = targetDirectory -> {
+        };
+        return options;
+    }
+}
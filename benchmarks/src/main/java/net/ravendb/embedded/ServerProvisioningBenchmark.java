@@ -0,0 +1,81 @@
+package net.ravendb.embedded;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of laying out server files: unzipping the bundled server and copying extracted one.
+ * Cold variants run once per fresh JVM, warm variants after warm-up iterations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ServerProvisioningBenchmark {
+
+    private File target;
+
+    @Setup(Level.Invocation)
+    public void setup(ServerFilesState files) throws IOException {
+        target = files.newDirectory("target");
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(target);
+    }
+
+    @Benchmark
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(5)
+    public void unzipCold(ServerFilesState files) throws IOException {
+        unzip(files);
+    }
+
+    @Benchmark
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public void unzipWarm(ServerFilesState files) throws IOException {
+        unzip(files);
+    }
+
+    @Benchmark
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(5)
+    public void copyCold(ServerFilesState files) throws IOException {
+        new CopyServerProvider(files.extracted.getAbsolutePath()).provide(target.getAbsolutePath());
+    }
+
+    @Benchmark
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public void copyWarm(ServerFilesState files) throws IOException {
+        new CopyServerProvider(files.extracted.getAbsolutePath()).provide(target.getAbsolutePath());
+    }
+
+    private void unzip(ServerFilesState files) throws IOException {
+        try (InputStream stream = new FileInputStream(files.zip)) {
+            ExtractFromZipServerProvider.unzip(stream, target.getAbsolutePath());
+        }
+    }
+}
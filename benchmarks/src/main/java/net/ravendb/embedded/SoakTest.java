@@ -0,0 +1,91 @@
+package net.ravendb.embedded;
+
+import net.ravendb.client.documents.BulkInsertOperation;
+import net.ravendb.client.documents.IDocumentStore;
+import net.ravendb.client.documents.session.IDocumentSession;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Long running open-loop load against an embedded server, see {@link LoadGenerator}.
+ * <p>
+ * Usage: java -cp target/benchmarks.jar [-Dsoak.rate=500] [-Dsoak.duration=PT1H] [-Dsoak.interval=PT10S]
+ * [-Dsoak.concurrency=64] [-Dsoak.documentSize=1024] net.ravendb.embedded.SoakTest
+ * <br>
+ * Interval reports are printed and written to target/soak/&lt;timestamp&gt;.csv.
+ */
+public class SoakTest {
+
+    private static final int DOCUMENTS = 100_000;
+    private static final int GROUPS = 1_000;
+
+    public static void main(String[] args) throws Exception {
+        double rate = Double.parseDouble(System.getProperty("soak.rate", "500"));
+        Duration duration = Duration.parse(System.getProperty("soak.duration", "PT1H"));
+        Duration interval = Duration.parse(System.getProperty("soak.interval", "PT10S"));
+        int concurrency = Integer.getInteger("soak.concurrency", 64);
+        int documentSize = Integer.getInteger("soak.documentSize", 1024);
+
+        File workDirectory = Files.createTempDirectory("ravendb-embedded-soak").toFile();
+        File csvFile = new File("target/soak", new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".csv");
+        //noinspection ResultOfMethodCallIsIgnored
+        csvFile.getParentFile().mkdirs();
+
+        try (EmbeddedServer server = new EmbeddedServer();
+             PrintWriter csv = new PrintWriter(new OutputStreamWriter(new FileOutputStream(csvFile), StandardCharsets.UTF_8))) {
+            ServerOptions options = new ServerOptions();
+            options.setTargetServerLocation(new File(workDirectory, "RavenDBServer").getAbsolutePath());
+            options.setDataDirectory(new File(workDirectory, "RavenDB").getAbsolutePath());
+            options.setLogsPath(new File(workDirectory, "Logs").getAbsolutePath());
+            server.startServer(options);
+
+            IDocumentStore store = server.getDocumentStore("Soak");
+            String payload = StringUtils.repeat('x', documentSize);
+
+            try (BulkInsertOperation bulkInsert = store.bulkInsert()) {
+                for (int i = 0; i < DOCUMENTS; i++) {
+                    bulkInsert.store(new Item(i % GROUPS, payload), "items/" + i);
+                }
+            }
+
+            System.out.printf("Running %.0f req/s for %s, reports every %s%n", rate, duration, interval);
+
+            new LoadGenerator(store, rate, concurrency)
+                    .addOperation("load", 70, s -> {
+                        try (IDocumentSession session = s.openSession()) {
+                            session.load(Item.class, "items/" + ThreadLocalRandom.current().nextInt(DOCUMENTS));
+                        }
+                    })
+                    .addOperation("query", 20, s -> {
+                        try (IDocumentSession session = s.openSession()) {
+                            session.advanced().rawQuery(Item.class, "from Items where group = $group")
+                                    .addParameter("group", ThreadLocalRandom.current().nextInt(GROUPS))
+                                    .toList();
+                        }
+                    })
+                    .addOperation("store", 10, s -> {
+                        try (IDocumentSession session = s.openSession()) {
+                            session.store(new Item(ThreadLocalRandom.current().nextInt(GROUPS), payload),
+                                    "items/" + ThreadLocalRandom.current().nextInt(DOCUMENTS));
+                            session.saveChanges();
+                        }
+                    })
+                    .run(duration, interval, ProcessUtils.getPid(server.getServerProcess()), System.out, csv);
+        } finally {
+            FileUtils.deleteDirectory(workDirectory);
+        }
+
+        System.out.println("Interval reports written to " + csvFile.getAbsolutePath());
+    }
+}
@@ -0,0 +1,71 @@
+package net.ravendb.embedded;
+
+/**
+ * Options of {@link BulkLoader}
+ */
+public class BulkLoadOptions {
+
+    private String collection;
+    private String idField;
+    private int partitions = Runtime.getRuntime().availableProcessors();
+    private int batchSize = 1000;
+    private int maxInFlightBatches = 2;
+
+    public String getCollection() {
+        return collection;
+    }
+
+    /**
+     * @param collection Collection of loaded documents, unless document specifies it in its @metadata
+     */
+    public void setCollection(String collection) {
+        this.collection = collection;
+    }
+
+    public String getIdField() {
+        return idField;
+    }
+
+    /**
+     * @param idField Field holding document id, its value is used as the whole id. Not set by default, so documents
+     *                keep their fields and get id from @metadata, or one generated from collection name, which
+     *                can't collide across collections.
+     */
+    public void setIdField(String idField) {
+        this.idField = idField;
+    }
+
+    public int getPartitions() {
+        return partitions;
+    }
+
+    /**
+     * @param partitions Number of parallel bulk inserts
+     */
+    public void setPartitions(int partitions) {
+        this.partitions = partitions;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @param batchSize Number of documents handed to a partition at once
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getMaxInFlightBatches() {
+        return maxInFlightBatches;
+    }
+
+    /**
+     * @param maxInFlightBatches Number of parsed batches waiting per partition. When exceeded, reading of input
+     *                           is paused until partitions catch up.
+     */
+    public void setMaxInFlightBatches(int maxInFlightBatches) {
+        this.maxInFlightBatches = maxInFlightBatches;
+    }
+}
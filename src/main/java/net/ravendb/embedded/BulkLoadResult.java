@@ -0,0 +1,52 @@
+package net.ravendb.embedded;
+
+import java.time.Duration;
+
+/**
+ * Outcome of {@link BulkLoader} run
+ */
+public class BulkLoadResult {
+
+    private final long documents;
+    private final long bytes;
+    private final Duration duration;
+
+    BulkLoadResult(long documents, long bytes, Duration duration) {
+        this.documents = documents;
+        this.bytes = bytes;
+        this.duration = duration;
+    }
+
+    public long getDocuments() {
+        return documents;
+    }
+
+    /**
+     * @return Size of the input which was read
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public double getDocumentsPerSecond() {
+        return documents / seconds();
+    }
+
+    public double getMegabytesPerSecond() {
+        return bytes / (1024.0 * 1024.0) / seconds();
+    }
+
+    private double seconds() {
+        return Math.max(1, duration.toNanos()) / 1e9;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BulkLoadResult{documents=%d, bytes=%d, duration=%s, docs/sec=%.0f, MB/sec=%.2f}",
+                documents, bytes, duration, getDocumentsPerSecond(), getMegabytesPerSecond());
+    }
+}
@@ -0,0 +1,300 @@
+package net.ravendb.embedded;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.io.CountingInputStream;
+import net.ravendb.client.Constants;
+import net.ravendb.client.documents.BulkInsertOperation;
+import net.ravendb.client.documents.IDocumentStore;
+import net.ravendb.client.exceptions.RavenException;
+import net.ravendb.client.json.MetadataAsDictionary;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Loads large NDJSON or CSV files into a database.
+ * <p>
+ * Input is parsed as a stream and split into batches, which are spread across partitions. Each partition
+ * feeds its own bulk insert, so loading scales with number of cores. Number of parsed batches waiting for
+ * partitions is bounded, so reading is paused when the server can't keep up.
+ * <p>
+ * When loading fails, documents already sent by other partitions stay in the database.
+ */
+public class BulkLoader {
+
+    private static final Log logger = LogFactory.getLog(BulkLoader.class);
+
+    private static final List<ObjectNode> END_OF_INPUT = Collections.emptyList();
+
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    // collection of documents which don't belong to any collection
+    private static final String EMPTY_COLLECTION = "@empty";
+
+    private final IDocumentStore store;
+    private final BulkLoadOptions options;
+    private final ObjectMapper mapper;
+
+    public BulkLoader(IDocumentStore store) {
+        this(store, new BulkLoadOptions());
+    }
+
+    public BulkLoader(IDocumentStore store, BulkLoadOptions options) {
+        if (store == null) {
+            throw new IllegalArgumentException("store cannot be null");
+        }
+        if (options.getPartitions() < 1) {
+            throw new IllegalArgumentException("partitions must be at least 1");
+        }
+        if (options.getBatchSize() < 1) {
+            throw new IllegalArgumentException("batchSize must be at least 1");
+        }
+        if (options.getMaxInFlightBatches() < 1) {
+            throw new IllegalArgumentException("maxInFlightBatches must be at least 1");
+        }
+
+        this.store = store;
+        this.options = options;
+        this.mapper = store.getConventions().getEntityMapper();
+    }
+
+    /**
+     * Loads file with one JSON object per line
+     */
+    public BulkLoadResult loadNdjson(Path file) throws IOException {
+        try (InputStream input = Files.newInputStream(file)) {
+            return loadNdjson(input);
+        }
+    }
+
+    public BulkLoadResult loadNdjson(InputStream input) throws IOException {
+        return load(input, stream -> {
+            MappingIterator<ObjectNode> iterator = mapper.readerFor(ObjectNode.class).readValues(stream);
+            return () -> iterator.hasNextValue() ? iterator.nextValue() : null;
+        });
+    }
+
+    /**
+     * Loads CSV file with header row. Each row becomes a document with fields named after header columns;
+     * all values are loaded as strings.
+     */
+    public BulkLoadResult loadCsv(Path file) throws IOException {
+        try (InputStream input = Files.newInputStream(file)) {
+            return loadCsv(input);
+        }
+    }
+
+    public BulkLoadResult loadCsv(InputStream input) throws IOException {
+        return load(input, stream -> {
+            CsvReader reader = new CsvReader(new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8)));
+            List<String> header = reader.readRecord();
+
+            return () -> {
+                if (header == null) {
+                    return null;
+                }
+
+                List<String> record = reader.readRecord();
+                if (record == null) {
+                    return null;
+                }
+
+                ObjectNode document = mapper.createObjectNode();
+                for (int i = 0; i < header.size(); i++) {
+                    document.put(header.get(i), i < record.size() ? record.get(i) : null);
+                }
+                return document;
+            };
+        });
+    }
+
+    private BulkLoadResult load(InputStream input, SourceFactory sourceFactory) throws IOException {
+        long start = System.nanoTime();
+
+        CountingInputStream counting = new CountingInputStream(new BufferedInputStream(input));
+        DocumentSource source = sourceFactory.create(counting);
+
+        int partitions = options.getPartitions();
+        BlockingQueue<List<ObjectNode>> batches = new ArrayBlockingQueue<>(partitions * options.getMaxInFlightBatches());
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        LongAdder documents = new LongAdder();
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(partitions, r -> {
+            Thread thread = new Thread(r, "RavenDB-Embedded-Bulk-Load-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < partitions; i++) {
+                workers.add(executor.submit(() -> {
+                    runPartition(batches, failure, documents);
+                    return null;
+                }));
+            }
+
+            try {
+                List<ObjectNode> batch = new ArrayList<>(options.getBatchSize());
+                ObjectNode document;
+                while ((document = source.next()) != null) {
+                    batch.add(document);
+
+                    if (batch.size() >= options.getBatchSize()) {
+                        if (!enqueue(batches, batch, failure)) {
+                            break;
+                        }
+                        batch = new ArrayList<>(options.getBatchSize());
+                    }
+                }
+
+                if (!batch.isEmpty()) {
+                    enqueue(batches, batch, failure);
+                }
+            } catch (IOException | RuntimeException e) {
+                failure.compareAndSet(null, e);
+            }
+
+            for (int i = 0; i < partitions; i++) {
+                if (!enqueue(batches, END_OF_INPUT, failure)) {
+                    break;
+                }
+            }
+
+            for (Future<?> worker : workers) {
+                try {
+                    worker.get();
+                } catch (ExecutionException e) {
+                    failure.compareAndSet(null, e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Throwable error = failure.get();
+        if (error != null) {
+            if (error instanceof IOException) {
+                throw (IOException) error;
+            }
+            throw new RavenException("Bulk load failed after " + documents.sum() + " documents: " + error.getMessage(), error);
+        }
+
+        BulkLoadResult result = new BulkLoadResult(documents.sum(), counting.getCount(), Duration.ofNanos(System.nanoTime() - start));
+
+        if (logger.isInfoEnabled()) {
+            logger.info("Loaded into '" + store.getDatabase() + "' using " + partitions + " partitions: " + result);
+        }
+
+        return result;
+    }
+
+    private static boolean enqueue(BlockingQueue<List<ObjectNode>> batches, List<ObjectNode> batch,
+                                   AtomicReference<Throwable> failure) throws InterruptedException {
+        while (failure.get() == null) {
+            if (batches.offer(batch, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void runPartition(BlockingQueue<List<ObjectNode>> batches, AtomicReference<Throwable> failure,
+                              LongAdder documents) throws InterruptedException {
+        try (BulkInsertOperation bulkInsert = store.bulkInsert()) {
+            while (failure.get() == null) {
+                List<ObjectNode> batch = batches.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (batch == null) {
+                    continue;
+                }
+                if (batch == END_OF_INPUT) {
+                    return;
+                }
+
+                for (ObjectNode document : batch) {
+                    store(bulkInsert, document);
+                }
+
+                documents.add(batch.size());
+            }
+        } catch (RuntimeException e) {
+            failure.compareAndSet(null, e);
+            throw e;
+        }
+    }
+
+    private void store(BulkInsertOperation bulkInsert, ObjectNode document) {
+        MetadataAsDictionary metadata = new MetadataAsDictionary();
+        String id = null;
+        String collection = options.getCollection();
+        String javaType = "";
+
+        JsonNode documentMetadata = document.remove(Constants.Documents.Metadata.KEY);
+        if (documentMetadata != null) {
+            // server managed properties (change vector, last modified etc.) are not copied
+            id = documentMetadata.path(Constants.Documents.Metadata.ID).textValue();
+            collection = StringUtils.defaultIfEmpty(documentMetadata.path(Constants.Documents.Metadata.COLLECTION).textValue(), collection);
+            javaType = StringUtils.defaultString(documentMetadata.path(Constants.Documents.Metadata.RAVEN_JAVA_TYPE).textValue());
+        }
+
+        if (options.getIdField() != null) {
+            JsonNode idNode = document.remove(options.getIdField());
+            if (idNode != null && idNode.isValueNode() && !idNode.isNull()) {
+                id = idNode.asText();
+            }
+        }
+
+        // both are always set, otherwise bulk insert derives them from ObjectNode class
+        metadata.put(Constants.Documents.Metadata.COLLECTION, StringUtils.defaultIfEmpty(collection, EMPTY_COLLECTION));
+        metadata.put(Constants.Documents.Metadata.RAVEN_JAVA_TYPE, javaType);
+
+        if (StringUtils.isEmpty(id)) {
+            id = (StringUtils.isNotEmpty(collection) ? collection.toLowerCase() : "documents") + "/" + UUID.randomUUID();
+        }
+
+        bulkInsert.store(document, id, metadata);
+    }
+
+    private interface SourceFactory {
+        DocumentSource create(InputStream input) throws IOException;
+    }
+
+    private interface DocumentSource {
+        /**
+         * @return next document, or null at the end of input
+         */
+        ObjectNode next() throws IOException;
+    }
+}
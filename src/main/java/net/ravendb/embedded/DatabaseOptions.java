@@ -3,12 +3,22 @@ package net.ravendb.embedded;
 import net.ravendb.client.documents.conventions.DocumentConventions;
 import net.ravendb.client.serverwide.DatabaseRecord;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @SuppressWarnings("unused")
 public class DatabaseOptions {
 
     private boolean skipCreatingDatabase;
     private DocumentConventions conventions;
     private DatabaseRecord databaseRecord;
+    private boolean useEmbeddedConventions = true;
+    private boolean warmUp;
+    private int warmUpConnections = 4;
+    private List<String> warmUpQueries = new ArrayList<>();
+    private long resultCacheSizeInBytes;
+    private List<String> seedDumps = new ArrayList<>();
+    private String restoreBackupLocation;
 
     public DatabaseOptions(DatabaseRecord databaseRecord) {
         this.databaseRecord = databaseRecord;
@@ -34,6 +44,21 @@ public class DatabaseOptions {
         this.conventions = conventions;
     }
 
+    public boolean isUseEmbeddedConventions() {
+        return useEmbeddedConventions;
+    }
+
+    /**
+     * When no conventions are set, document store uses conventions tuned for the local, single node server:
+     * topology updates are disabled and HTTP compression is turned off on loopback.
+     * Disable to use client defaults instead.
+     *
+     * @param useEmbeddedConventions use embedded conventions profile
+     */
+    public void setUseEmbeddedConventions(boolean useEmbeddedConventions) {
+        this.useEmbeddedConventions = useEmbeddedConventions;
+    }
+
     public DatabaseRecord getDatabaseRecord() {
         return databaseRecord;
     }
@@ -41,4 +66,82 @@ public class DatabaseOptions {
     public void setDatabaseRecord(DatabaseRecord databaseRecord) {
         this.databaseRecord = databaseRecord;
     }
+
+    public boolean isWarmUp() {
+        return warmUp;
+    }
+
+    /**
+     * When enabled, document store is warmed up before it is returned: topology is fetched, the database is
+     * loaded on the server, pooled connections are opened and warm-up queries are executed.
+     *
+     * @param warmUp warm up document store on creation
+     */
+    public void setWarmUp(boolean warmUp) {
+        this.warmUp = warmUp;
+    }
+
+    public int getWarmUpConnections() {
+        return warmUpConnections;
+    }
+
+    /**
+     * @param warmUpConnections Number of connections opened during warm-up
+     */
+    public void setWarmUpConnections(int warmUpConnections) {
+        this.warmUpConnections = warmUpConnections;
+    }
+
+    public List<String> getWarmUpQueries() {
+        return warmUpQueries;
+    }
+
+    /**
+     * @param warmUpQueries RQL queries executed during warm-up, e.g. to make indexes and caches hot
+     */
+    public void setWarmUpQueries(List<String> warmUpQueries) {
+        this.warmUpQueries = warmUpQueries;
+    }
+
+    public long getResultCacheSizeInBytes() {
+        return resultCacheSizeInBytes;
+    }
+
+    /**
+     * Enables {@link ResultCache} of loads and query results kept in this JVM, see {@link EmbeddedServer#getResultCache(DatabaseOptions)}.
+     *
+     * @param resultCacheSizeInBytes Maximum size of cached results, 0 disables the cache
+     */
+    public void setResultCacheSizeInBytes(long resultCacheSizeInBytes) {
+        this.resultCacheSizeInBytes = resultCacheSizeInBytes;
+    }
+
+    public List<String> getSeedDumps() {
+        return seedDumps;
+    }
+
+    /**
+     * Dump files are imported into the database, whether it was just created, restored or already existed.
+     * Import is skipped when the same files were already imported into the database. When import fails
+     * or is interrupted, it is repeated next time.
+     *
+     * @param seedDumps Paths of .ravendbdump files, or directories containing them
+     */
+    public void setSeedDumps(List<String> seedDumps) {
+        this.seedDumps = seedDumps;
+    }
+
+    public String getRestoreBackupLocation() {
+        return restoreBackupLocation;
+    }
+
+    /**
+     * When set, database which doesn't exist yet is restored from the backup instead of being created empty.
+     * Restoring a snapshot brings back indexes as well, so no re-indexing is needed.
+     *
+     * @param restoreBackupLocation Directory containing backup or snapshot files, accessible by the server process
+     */
+    public void setRestoreBackupLocation(String restoreBackupLocation) {
+        this.restoreBackupLocation = restoreBackupLocation;
+    }
 }
@@ -0,0 +1,63 @@
+package net.ravendb.embedded;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms and counters of requests sent to a database, by operation. Outlives document stores,
+ * so statistics are kept when a store is evicted and recreated.
+ */
+class DatabaseRequestMetrics implements RequestInstrumentation.Observer {
+
+    private final String database;
+    private final ConcurrentMap<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+
+    DatabaseRequestMetrics(String database) {
+        this.database = database;
+    }
+
+    @Override
+    public void onRequestComplete(RequestInstrumentation.RequestContext context) {
+        String operation = context.getOperation();
+        OperationMetrics metrics = operations.get(operation);
+        if (metrics == null) {
+            // computeIfAbsent locks the bin even when key is present on Java 8
+            metrics = operations.computeIfAbsent(operation, k -> new OperationMetrics());
+        }
+
+        metrics.latency.record(context.getDurationNanos());
+
+        if (context.isFailed()) {
+            metrics.errors.increment();
+        }
+
+        long responseBytes = context.getResponseBytes();
+        if (responseBytes > 0) {
+            metrics.responseBytes.add(responseBytes);
+        }
+    }
+
+    List<RequestStatistics> getStatistics() {
+        List<RequestStatistics> result = new ArrayList<>();
+
+        operations.forEach((operation, metrics) -> {
+            LatencyHistogram.Snapshot latency = metrics.latency.snapshot();
+            result.add(new RequestStatistics(database, operation, latency.getCount(), metrics.errors.sum(),
+                    metrics.responseBytes.sum(), latency.getMean(), latency.getValueAtPercentile(50),
+                    latency.getValueAtPercentile(99), latency.getValueAtPercentile(99.9), latency.getMax()));
+        });
+
+        result.sort(Comparator.comparing(RequestStatistics::getOperation));
+        return result;
+    }
+
+    private static class OperationMetrics {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder responseBytes = new LongAdder();
+    }
+}
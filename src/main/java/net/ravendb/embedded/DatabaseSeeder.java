@@ -0,0 +1,120 @@
+package net.ravendb.embedded;
+
+import com.google.common.hash.Funnels;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+import net.ravendb.client.documents.IDocumentStore;
+import net.ravendb.client.documents.operations.compareExchange.CompareExchangeResult;
+import net.ravendb.client.documents.operations.compareExchange.CompareExchangeValue;
+import net.ravendb.client.documents.operations.compareExchange.GetCompareExchangeValueOperation;
+import net.ravendb.client.documents.operations.compareExchange.PutCompareExchangeValueOperation;
+import net.ravendb.client.documents.smuggler.DatabaseSmugglerImportOptions;
+import net.ravendb.client.exceptions.RavenException;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Imports dump files into database.
+ * <p>
+ * Checksum of imported files is stored in compare exchange value of the database once all files were imported,
+ * so the import is skipped when the same files were already imported (e.g. after restart). Missing or different
+ * checksum means the database is seeded again.
+ */
+class DatabaseSeeder {
+
+    private static final Log logger = LogFactory.getLog(DatabaseSeeder.class);
+
+    static final String DUMP_EXTENSION = ".ravendbdump";
+    static final String CHECKSUM_KEY = "embedded/seed-checksum";
+
+    private DatabaseSeeder() {
+    }
+
+    static void seed(IDocumentStore store, String databaseName, List<String> dumps) {
+        List<File> files = resolveDumpFiles(dumps);
+        if (files.isEmpty()) {
+            return;
+        }
+
+        String checksum = checksum(files);
+
+        CompareExchangeValue<String> marker = store.operations().forDatabase(databaseName)
+                .send(new GetCompareExchangeValueOperation<>(String.class, CHECKSUM_KEY));
+
+        if (marker != null && checksum.equals(marker.getValue())) {
+            if (logger.isInfoEnabled()) {
+                logger.info("Database '" + databaseName + "' was already seeded, skipping import.");
+            }
+            return;
+        }
+
+        for (File file : files) {
+            if (logger.isInfoEnabled()) {
+                logger.info("Importing " + file + " into '" + databaseName + "'.");
+            }
+
+            // client streams the file, it isn't loaded into memory
+            store.smuggler().forDatabase(databaseName)
+                    .importAsync(new DatabaseSmugglerImportOptions(), file.getAbsolutePath())
+                    .waitForCompletion();
+        }
+
+        // written only after all files were imported, so a partial import is repeated
+        CompareExchangeResult<String> result = store.operations().forDatabase(databaseName)
+                .send(new PutCompareExchangeValueOperation<>(CHECKSUM_KEY, checksum, marker != null ? marker.getIndex() : 0));
+
+        if (!result.isSuccessful() && logger.isInfoEnabled()) {
+            logger.info("Seed checksum of '" + databaseName + "' was updated concurrently.");
+        }
+    }
+
+    /**
+     * Expands directories to dump files they contain, sorted by name.
+     */
+    static List<File> resolveDumpFiles(List<String> dumps) {
+        List<File> files = new ArrayList<>();
+
+        for (String dump : dumps) {
+            File file = new File(dump);
+
+            if (file.isDirectory()) {
+                File[] children = file.listFiles((dir, name) -> name.endsWith(DUMP_EXTENSION));
+                if (children != null) {
+                    Arrays.sort(children);
+                    files.addAll(Arrays.asList(children));
+                }
+            } else if (file.isFile()) {
+                files.add(file);
+            } else {
+                throw new IllegalArgumentException("Dump file or directory does not exist: " + dump);
+            }
+        }
+
+        return files;
+    }
+
+    private static String checksum(List<File> files) {
+        Hasher hasher = Hashing.sha256().newHasher();
+
+        try (OutputStream sink = Funnels.asOutputStream(hasher)) {
+            for (File file : files) {
+                hasher.putString(file.getName(), StandardCharsets.UTF_8);
+                hasher.putLong(file.length());
+                Files.asByteSource(file).copyTo(sink);
+            }
+        } catch (IOException e) {
+            throw new RavenException("Unable to compute checksum of dump files: " + e.getMessage(), e);
+        }
+
+        return hasher.hash().toString();
+    }
+}
@@ -0,0 +1,153 @@
+package net.ravendb.embedded;
+
+import com.google.common.hash.Hashing;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+
+/**
+ * State of a detached server persisted in target server location, so the next JVM can reattach to it.
+ */
+class DetachedServerState {
+
+    static final String STATE_FILE_NAME = "embedded-server.state";
+
+    private static final String PID = "pid";
+    private static final String URL = "url";
+    private static final String FINGERPRINT = "fingerprint";
+    private static final String START_TIME = "startTime";
+
+    private final long pid;
+    private final String startTime;
+    private final String url;
+    private final String fingerprint;
+
+    DetachedServerState(long pid, String startTime, String url, String fingerprint) {
+        this.pid = pid;
+        this.startTime = startTime;
+        this.url = url;
+        this.fingerprint = fingerprint;
+    }
+
+    long getPid() {
+        return pid;
+    }
+
+    /**
+     * @return start time of the server process, see {@link ProcessUtils#getStartTime(long)}, or null when it was not available
+     */
+    String getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Pid alone isn't enough - after reboot or pid reuse it can belong to an unrelated process. When start time
+     * is not available, only the pid is checked, so the process must not be signalled based on this.
+     *
+     * @return true when the server process is still running
+     */
+    boolean isProcessAlive() {
+        return startTime != null ? ProcessUtils.isAlive(pid, startTime) : ProcessUtils.isAlive(pid);
+    }
+
+    String getUrl() {
+        return url;
+    }
+
+    String getFingerprint() {
+        return fingerprint;
+    }
+
+    static File stateFile(String directory) {
+        return new File(directory, STATE_FILE_NAME);
+    }
+
+    /**
+     * @return persisted state or null if there is no (valid) state file
+     */
+    static DetachedServerState read(File file) {
+        if (!file.isFile()) {
+            return null;
+        }
+
+        Properties properties = new Properties();
+        try (InputStream stream = new FileInputStream(file)) {
+            properties.load(stream);
+        } catch (IOException e) {
+            return null;
+        }
+
+        String pid = properties.getProperty(PID);
+        String url = properties.getProperty(URL);
+        String fingerprint = properties.getProperty(FINGERPRINT);
+
+        if (StringUtils.isAnyBlank(pid, url, fingerprint)) {
+            return null;
+        }
+
+        try {
+            return new DetachedServerState(Long.parseLong(pid), properties.getProperty(START_TIME), url, fingerprint);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    void write(File file) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(PID, Long.toString(pid));
+        properties.setProperty(URL, url);
+        properties.setProperty(FINGERPRINT, fingerprint);
+        if (startTime != null) {
+            properties.setProperty(START_TIME, startTime);
+        }
+
+        File temp = new File(file.getParentFile(), file.getName() + ".tmp");
+        try (OutputStream stream = new FileOutputStream(temp)) {
+            properties.store(stream, "RavenDB embedded server");
+        }
+
+        if (!temp.renameTo(file)) {
+            file.delete();
+            if (!temp.renameTo(file)) {
+                throw new IOException("Unable to write " + file);
+            }
+        }
+    }
+
+    /**
+     * Computes fingerprint of options which affect the running server process.
+     * Server can be reused only when fingerprint didn't change.
+     */
+    static String fingerprint(ServerOptions options) {
+        StringBuilder sb = new StringBuilder();
+        append(sb, EmbeddedServer.class.getPackage().getImplementationVersion());
+        append(sb, options.getDotNetPath());
+        append(sb, options.getFrameworkVersion());
+        append(sb, options.getDataDirectory());
+        append(sb, options.getLogsPath());
+        append(sb, options.getServerUrl());
+        append(sb, String.valueOf(options.isAcceptEula()));
+        append(sb, String.join(" ", options.getCommandLineArgs()));
+
+        SecurityOptions security = options.getSecurity();
+        if (security != null) {
+            append(sb, security.getCertificatePath());
+            append(sb, security.getCertificateExec());
+            append(sb, security.getCertificateArguments());
+            append(sb, security.getServerCertificateThumbprint());
+        }
+
+        return Hashing.sha256().hashString(sb, StandardCharsets.UTF_8).toString();
+    }
+
+    private static void append(StringBuilder sb, String value) {
+        sb.append(StringUtils.defaultString(value)).append('\n');
+    }
+}
@@ -0,0 +1,54 @@
+package net.ravendb.embedded;
+
+/**
+ * Snapshot of counters of document stores cached by {@link EmbeddedServer#getDocumentStore(DatabaseOptions)}
+ */
+public class DocumentStoreCacheStatistics {
+
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final int openStores;
+
+    DocumentStoreCacheStatistics(long hits, long misses, long evictions, int openStores) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.openStores = openStores;
+    }
+
+    /**
+     * @return Number of requests served by already cached store
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return Number of requests which created a new store
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return Number of stores closed because they were idle or exceeded the maximum count
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public int getOpenStores() {
+        return openStores;
+    }
+
+    @Override
+    public String toString() {
+        return "DocumentStoreCacheStatistics{" +
+                "hits=" + hits +
+                ", misses=" + misses +
+                ", evictions=" + evictions +
+                ", openStores=" + openStores +
+                '}';
+    }
+}
@@ -0,0 +1,79 @@
+package net.ravendb.embedded;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import net.ravendb.client.documents.IDocumentStore;
+import net.ravendb.client.documents.operations.GetStatisticsOperation;
+import net.ravendb.client.documents.session.IDocumentSession;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Prepares freshly created document store for traffic, so the first real requests don't pay for topology fetch,
+ * connection setup and loading of the database on the server side.
+ */
+class DocumentStoreWarmUp {
+
+    private static final Log logger = LogFactory.getLog(DocumentStoreWarmUp.class);
+
+    private DocumentStoreWarmUp() {
+    }
+
+    static void warmUp(IDocumentStore store, DatabaseOptions options) {
+        long start = System.nanoTime();
+
+        try {
+            // first request fetches topology and makes the server load the database
+            store.maintenance().send(new GetStatisticsOperation());
+
+            openConnections(store, options.getWarmUpConnections());
+
+            for (String query : options.getWarmUpQueries()) {
+                try (IDocumentSession session = store.openSession()) {
+                    session.advanced().rawQuery(ObjectNode.class, query).toList();
+                } catch (Exception e) {
+                    logger.warn("Warm-up query failed for '" + store.getDatabase() + "': " + query, e);
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to warm up document store for '" + store.getDatabase() + "'.", e);
+            return;
+        }
+
+        if (logger.isInfoEnabled()) {
+            logger.info("Warmed up document store for '" + store.getDatabase() + "' in "
+                    + (System.nanoTime() - start) / 1_000_000 + " ms.");
+        }
+    }
+
+    /**
+     * Sends concurrent requests, which forces HTTP client to open (and keep pooled) given number of connections.
+     */
+    private static void openConnections(IDocumentStore store, int connections) {
+        if (connections <= 1) {
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(connections, r -> {
+            Thread thread = new Thread(r, "RavenDB-Embedded-WarmUp");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            List<CompletableFuture<?>> requests = new ArrayList<>();
+            for (int i = 0; i < connections; i++) {
+                requests.add(CompletableFuture.runAsync(() -> store.maintenance().send(new GetStatisticsOperation()), executor));
+            }
+
+            CompletableFuture.allOf(requests.toArray(new CompletableFuture[0])).join();
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package net.ravendb.embedded;
+
+import com.google.common.net.InetAddresses;
+import net.ravendb.client.documents.conventions.DocumentConventions;
+import org.apache.commons.lang3.StringUtils;
+
+import java.net.InetAddress;
+import java.net.URI;
+
+/**
+ * Conventions profile for stores talking to the embedded server.
+ * <p>
+ * Client defaults are designed for remote clusters. Embedded server is a single node on the same host,
+ * so topology updates are pointless and on loopback HTTP compression only burns CPU on both sides.
+ */
+class EmbeddedConventions {
+
+    private EmbeddedConventions() {
+    }
+
+    static DocumentConventions create(String serverUrl) {
+        DocumentConventions conventions = new DocumentConventions();
+
+        // embedded server is a single node - there is no topology to follow and nothing to fail over to
+        conventions.setDisableTopologyUpdates(true);
+
+        if (isLoopback(serverUrl)) {
+            conventions.setUseCompression(false);
+        }
+
+        return conventions;
+    }
+
+    static boolean isLoopback(String serverUrl) {
+        try {
+            String host = URI.create(serverUrl).getHost();
+            if (host == null) {
+                return false;
+            }
+
+            if ("localhost".equalsIgnoreCase(host)) {
+                return true;
+            }
+
+            // literal addresses are parsed without DNS lookup
+            String address = StringUtils.removeEnd(StringUtils.removeStart(host, "["), "]");
+            if (InetAddresses.isInetAddress(address)) {
+                return InetAddresses.forString(address).isLoopbackAddress();
+            }
+
+            return InetAddress.getByName(host).isLoopbackAddress();
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
@@ -4,13 +4,27 @@ import com.google.common.base.Stopwatch;
 import net.ravendb.client.documents.DocumentStore;
 import net.ravendb.client.documents.IDocumentStore;
 import net.ravendb.client.documents.Lazy;
+import net.ravendb.client.documents.operations.MaintenanceOperationExecutor;
+import net.ravendb.client.documents.operations.OperationExecutor;
+import net.ravendb.client.documents.operations.backups.BackupType;
+import net.ravendb.client.documents.operations.backups.LocalSettings;
+import net.ravendb.client.documents.operations.backups.PeriodicBackupConfiguration;
+import net.ravendb.client.documents.operations.backups.RestoreBackupConfiguration;
+import net.ravendb.client.documents.operations.backups.RestoreBackupOperation;
+import net.ravendb.client.documents.operations.backups.UpdatePeriodicBackupOperation;
+import net.ravendb.client.documents.session.IDocumentSession;
 import net.ravendb.client.exceptions.ConcurrencyException;
 import net.ravendb.client.exceptions.RavenException;
 import net.ravendb.client.primitives.CleanCloseable;
 import net.ravendb.client.primitives.Reference;
 import net.ravendb.client.primitives.Tuple;
+import net.ravendb.client.serverwide.DatabaseRecord;
+import net.ravendb.client.serverwide.DatabaseRecordWithEtag;
 import net.ravendb.client.serverwide.operations.CreateDatabaseOperation;
+import net.ravendb.client.serverwide.operations.GetDatabaseNamesOperation;
+import net.ravendb.client.serverwide.operations.GetDatabaseRecordOperation;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
@@ -22,10 +36,22 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.security.KeyStore;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiFunction;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 
 public class EmbeddedServer implements CleanCloseable {
 
@@ -34,6 +60,8 @@ public class EmbeddedServer implements CleanCloseable {
 
     public static final String END_OF_STREAM_MARKER = "$$END_OF_STREAM$$";
 
+    private static final int DEFAULT_PROVISIONING_PARALLELISM = Math.max(4, Runtime.getRuntime().availableProcessors());
+
     public EmbeddedServer() {
     }
 
@@ -41,11 +69,34 @@ public class EmbeddedServer implements CleanCloseable {
 
     private final AtomicReference<Lazy<Tuple<String, Process>>> _serverTask = new AtomicReference<>();
 
-    private final ConcurrentMap<String, Lazy<IDocumentStore>> _documentStores = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, DocumentStoreHolder> _documentStores = new ConcurrentHashMap<>();
+
+    private final LongAdder _storeCacheHits = new LongAdder();
+    private final LongAdder _storeCacheMisses = new LongAdder();
+    private final LongAdder _storeCacheEvictions = new LongAdder();
+    private Duration _documentStoreIdleTimeout;
+    private int _maxDocumentStores;
+    private volatile ScheduledExecutorService _maintenanceExecutor;
+
+    private volatile Lazy<IDocumentStore> _serverStore;
+
+    private final Set<String> _sharedDatabases = ConcurrentHashMap.newKeySet();
 
     private KeyStore _certificate;
     private KeyStore _trustStore;
     private Duration _gracefulShutdownTimeout;
+    private volatile ServerProcessSupervisor _supervisor;
+    private volatile boolean _detached;
+    private volatile File _stateFile;
+    private volatile SharedServerRegistry _sharedRegistry;
+    private String _databaseNamePrefix;
+    private ServerHttpClient _httpClient;
+    private volatile EmbeddedServerMonitor _monitor;
+    private volatile ServerMetricsCollector _metricsCollector;
+    private boolean _requestMetricsEnabled;
+    private EmbeddedTracer _tracer = EmbeddedTracer.NOOP;
+    private SlowRequestTracker _slowRequestTracker;
+    private final ConcurrentMap<String, DatabaseRequestMetrics> _requestMetrics = new ConcurrentHashMap<>();
 
     @SuppressWarnings("unused")
     public void startServer() {
@@ -55,6 +106,18 @@ public class EmbeddedServer implements CleanCloseable {
     public void startServer(ServerOptions optionsParam) {
         ServerOptions options = ObjectUtils.firstNonNull(optionsParam, ServerOptions.INSTANCE);
 
+        if (options.runsDetached() && options.isRestartOnFailure()) {
+            throw new IllegalArgumentException("restartOnFailure is not supported for detached and shared servers");
+        }
+
+        if (options.isShared() && options.getDatabaseNamePrefix() == null) {
+            // generated prefix would change with every restart and leave databases of previous runs behind
+            throw new IllegalArgumentException("databaseNamePrefix has to be set for shared servers, e.g. to name of the application "
+                    + "(or empty string to use unprefixed database names)");
+        }
+
+        validateServerUrl(options.getServerUrl());
+
         _gracefulShutdownTimeout = options.getGracefulShutdownTimeout();
 
         Lazy<Tuple<String, Process>> startServer = new Lazy<>(() -> runServer(options));
@@ -68,55 +131,731 @@ public class EmbeddedServer implements CleanCloseable {
             _trustStore = options.getSecurity().getTrustStore();
         }
 
+        _detached = options.runsDetached();
+        _databaseNamePrefix = options.getDatabaseNamePrefix();
+        _httpClient = new ServerHttpClient(options.getSecurity());
+        _requestMetricsEnabled = options.isRequestMetricsEnabled();
+        _tracer = options.getTraceExporter() != null ? new EmbeddedTracer(options.getTraceExporter()) : EmbeddedTracer.NOOP;
+        _slowRequestTracker = options.getSlowRequestThreshold() != null
+                ? new SlowRequestTracker(options.getSlowRequestThreshold(), options.getSlowRequestCapacity())
+                : null;
+        _serverStore = new Lazy<>(() -> {
+            String serverUrl = getServerUri();
+
+            DocumentStore store = new DocumentStore(serverUrl, null);
+            store.setCertificate(_certificate);
+            store.setTrustStore(_trustStore);
+            store.setConventions(EmbeddedConventions.create(serverUrl));
+
+            // store isn't bound to a database, requests are attributed to database from their url
+            RequestInstrumentation.attach(store, null, getRequestObservers(null));
+
+            return store.initialize();
+        });
+
         startServer.getValue();
+
+        ShutdownCoordinator.INSTANCE.register(this);
+
+        if (options.isRestartOnFailure()) {
+            ServerProcessSupervisor supervisor = new ServerProcessSupervisor(
+                    options, _serverTask, this::startServerProcess, this::shutdownServerProcess);
+            _supervisor = supervisor;
+            supervisor.start();
+        }
+
+        _documentStoreIdleTimeout = options.getDocumentStoreIdleTimeout();
+        _maxDocumentStores = options.getMaxDocumentStores();
+
+        if (_documentStoreIdleTimeout != null) {
+            long interval = Math.max(1, Math.min(_documentStoreIdleTimeout.toMillis() / 2, TimeUnit.SECONDS.toMillis(30)));
+            getMaintenanceExecutor().scheduleWithFixedDelay(this::evictIdleDocumentStores, interval, interval, TimeUnit.MILLISECONDS);
+        }
+
+        if (options.isJmxEnabled()) {
+            EmbeddedServerMonitor monitor = new EmbeddedServerMonitor(this);
+            monitor.register();
+            _monitor = monitor;
+        }
+
+        if (options.getMetricsRegistry() != null) {
+            ServerMetricsCollector collector = new ServerMetricsCollector(
+                    _httpClient, this::getServerUri, options.getMetricsRegistry(), options.getMetricsCollectionInterval());
+            collector.start();
+            _metricsCollector = collector;
+        }
+    }
+
+    /**
+     * @return Prefix added to names of all databases used through this server
+     */
+    public String getDatabaseNamePrefix() {
+        return StringUtils.defaultString(_databaseNamePrefix);
+    }
+
+    private static void validateServerUrl(String serverUrl) {
+        if (StringUtils.isBlank(serverUrl)) {
+            return;
+        }
+
+        String scheme = StringUtils.substringBefore(serverUrl, ":");
+        if (!"http".equalsIgnoreCase(scheme) && !"https".equalsIgnoreCase(scheme)) {
+            // the Java client talks HTTP over TCP only, so server bound to e.g. unix domain socket would be unreachable
+            throw new IllegalArgumentException("ServerUrl must use http or https scheme, but was: " + serverUrl);
+        }
+    }
+
+    private synchronized ScheduledExecutorService getMaintenanceExecutor() {
+        if (_maintenanceExecutor == null) {
+            _maintenanceExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "RavenDB-Embedded-Maintenance");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        return _maintenanceExecutor;
     }
 
     public IDocumentStore getDocumentStore(String database) {
         return getDocumentStore(new DatabaseOptions(database));
     }
 
+    /**
+     * Returns document store of the database, cached by this server.
+     * <p>
+     * When {@link ServerOptions#setDocumentStoreIdleTimeout(Duration)} or {@link ServerOptions#setMaxDocumentStores(int)}
+     * is set, returned store can be closed by eviction once it is idle (no requests and no getDocumentStore calls)
+     * or least recently used. Callers which keep the reference for a long time should call this method again
+     * instead of reusing a store which might have been closed.
+     */
     public IDocumentStore getDocumentStore(DatabaseOptions options) {
-        String databaseName = options.getDatabaseRecord().getDatabaseName();
+        return getDocumentStore(options, !options.isSkipCreatingDatabase());
+    }
 
-        if (StringUtils.isBlank(databaseName)) {
-            throw new IllegalArgumentException("DatabaseName cannot be null or whitespace");
+    private IDocumentStore getDocumentStore(DatabaseOptions options, boolean createDatabase) {
+        String databaseName = getDatabaseName(options);
+
+        while (true) {
+            DocumentStoreHolder candidate = new DocumentStoreHolder();
+            candidate.store = new Lazy<>(() -> createDocumentStore(options, databaseName, createDatabase, candidate));
+
+            DocumentStoreHolder holder = this._documentStores.computeIfAbsent(databaseName, dbName -> candidate);
+
+            if (holder == candidate) {
+                _storeCacheMisses.increment();
+            } else {
+                _storeCacheHits.increment();
+            }
+
+            holder.touch();
+
+            IDocumentStore store = holder.store.getValue();
+
+            if (holder.evicted) {
+                // lost race with eviction - store is being closed, create a new one
+                continue;
+            }
+
+            if (holder == candidate) {
+                evictLeastRecentlyUsedDocumentStores();
+            }
+
+            return store;
+        }
+    }
+
+    public CompletableFuture<Void> importFromPath(String database, String path) {
+        return importFromPath(database, path, progress -> {
+        });
+    }
+
+    /**
+     * Imports dump file, or all dump files in a directory, by passing its path to the server.
+     * Server reads the files directly from disk, so nothing is streamed through this JVM.
+     * Database is created if it doesn't exist.
+     *
+     * @param database         Database to import into
+     * @param path             Path of .ravendbdump file or directory, accessible by the server process
+     * @param progressListener Notified periodically about import progress
+     * @return Future completed when all files were imported
+     */
+    public CompletableFuture<Void> importFromPath(String database, String path, Consumer<ServerImportProgress> progressListener) {
+        DatabaseOptions options = new DatabaseOptions(database);
+        List<File> files = DatabaseSeeder.resolveDumpFiles(Collections.singletonList(path));
+
+        ensureDatabases(Collections.singletonList(options));
+
+        return new ServerSideImporter(_httpClient, getServerUri(), getDatabaseName(options))
+                .importAsync(files, progressListener);
+    }
+
+    /**
+     * @param databaseName Database of the store, or null for the shared store
+     */
+    private List<RequestInstrumentation.Observer> getRequestObservers(String databaseName) {
+        List<RequestInstrumentation.Observer> observers = new ArrayList<>();
+
+        if (_requestMetricsEnabled) {
+            if (databaseName != null) {
+                observers.add(getRequestMetrics(databaseName));
+            } else {
+                observers.add(context -> {
+                    // server wide requests aren't recorded
+                    if (context.getDatabase() != null) {
+                        getRequestMetrics(context.getDatabase()).onRequestComplete(context);
+                    }
+                });
+            }
+        }
+
+        if (_tracer.isEnabled()) {
+            observers.add(_tracer);
         }
 
+        if (_slowRequestTracker != null) {
+            observers.add(_slowRequestTracker);
+        }
+
+        return observers;
+    }
+
+    private DatabaseRequestMetrics getRequestMetrics(String databaseName) {
+        DatabaseRequestMetrics metrics = _requestMetrics.get(databaseName);
+        if (metrics == null) {
+            // computeIfAbsent locks the bin even when key is present on Java 8
+            metrics = _requestMetrics.computeIfAbsent(databaseName, DatabaseRequestMetrics::new);
+        }
+        return metrics;
+    }
+
+    /**
+     * @return Latencies and counts of requests sent to the database by document stores of this server, by request type
+     */
+    public List<RequestStatistics> getRequestStatistics(String database) {
+        DatabaseRequestMetrics metrics = _requestMetrics.get(getDatabaseName(new DatabaseOptions(database)));
+        return metrics != null ? metrics.getStatistics() : Collections.emptyList();
+    }
+
+    /**
+     * @return Latencies and counts of requests sent by document stores of this server, by database and request type
+     */
+    public List<RequestStatistics> getRequestStatistics() {
+        List<RequestStatistics> result = new ArrayList<>();
+        for (DatabaseRequestMetrics metrics : _requestMetrics.values()) {
+            result.addAll(metrics.getStatistics());
+        }
+
+        result.sort(Comparator.comparing(RequestStatistics::getDatabase).thenComparing(RequestStatistics::getOperation));
+        return result;
+    }
+
+    /**
+     * @return Most recent requests which exceeded {@link ServerOptions#setSlowRequestThreshold(Duration)}, newest first
+     */
+    public List<SlowRequest> getSlowRequests() {
+        SlowRequestTracker tracker = _slowRequestTracker;
+        return tracker != null ? tracker.getSlowRequests() : Collections.emptyList();
+    }
+
+    /**
+     * @return Number of slow requests since server was started, including those no longer returned by {@link #getSlowRequests()}
+     */
+    public long getSlowRequestCount() {
+        SlowRequestTracker tracker = _slowRequestTracker;
+        return tracker != null ? tracker.getCount() : 0;
+    }
+
+    public ResultCache getResultCache(String database) {
+        return getResultCache(new DatabaseOptions(database));
+    }
+
+    /**
+     * Returns JVM-side cache of loads and query results of the database. Cache has to be enabled
+     * using {@link DatabaseOptions#setResultCacheSizeInBytes(long)} and lives as long as the document store
+     * returned by {@link #getDocumentStore(DatabaseOptions)}.
+     */
+    public ResultCache getResultCache(DatabaseOptions options) {
+        if (options.getResultCacheSizeInBytes() <= 0) {
+            throw new IllegalArgumentException("Result cache is not enabled, set resultCacheSizeInBytes in DatabaseOptions");
+        }
+
+        String databaseName = getDatabaseName(options);
+
+        while (true) {
+            getDocumentStore(options);
+
+            DocumentStoreHolder holder = _documentStores.get(databaseName);
+            if (holder == null || holder.evicted || !holder.store.isValueCreated()) {
+                // evicted in the meantime
+                continue;
+            }
+
+            ResultCache resultCache = holder.resultCache;
+            if (resultCache == null) {
+                throw new IllegalStateException("Document store of database '" + databaseName
+                        + "' was created without result cache");
+            }
+
+            return resultCache;
+        }
+    }
+
+    private IDocumentStore createDocumentStore(DatabaseOptions options, String databaseName, boolean createDatabase,
+                                               DocumentStoreHolder holder) {
         if (logger.isInfoEnabled()) {
             logger.info("Creating document store for '" + databaseName + "'.");
         }
 
-        Lazy<IDocumentStore> lazy = new Lazy<>(() -> {
-            String serverUrl = getServerUri();
+        String serverUrl = getServerUri();
 
-            DocumentStore store = new DocumentStore(serverUrl, databaseName);
-            store.setCertificate(_certificate);
-            store.setTrustStore(_trustStore);
+        DocumentStore store = new DocumentStore(serverUrl, databaseName);
+        store.setCertificate(_certificate);
+        store.setTrustStore(_trustStore);
+
+        if (options.getConventions() != null) {
             store.setConventions(options.getConventions());
+        } else if (options.isUseEmbeddedConventions()) {
+            store.setConventions(EmbeddedConventions.create(serverUrl));
+        }
+
+        store.addAfterCloseListener((sender, event) -> _documentStores.remove(databaseName, holder));
+
+        // callers may keep the store and never call getDocumentStore again, requests keep it from being evicted
+        store.addOnBeforeRequestListener((sender, event) -> holder.touch());
+        store.addOnSucceedRequestListener((sender, event) -> holder.touch());
+        store.addOnFailedRequestListener((sender, event) -> holder.touch());
+
+        RequestInstrumentation.attach(store, databaseName, getRequestObservers(databaseName));
+
+        store.initialize();
+
+        if (options.getResultCacheSizeInBytes() > 0) {
+            ResultCache resultCache = new ResultCache(store, options.getResultCacheSizeInBytes());
+            store.addBeforeCloseListener((sender, event) -> resultCache.close());
+            holder.resultCache = resultCache;
+        }
+
+        if (createDatabase) {
+            tryCreateDatabase(options, databaseName, store);
+        }
+
+        if (options.isWarmUp()) {
+            DocumentStoreWarmUp.warmUp(store, options);
+        }
+
+        return store;
+    }
 
-            store.addAfterCloseListener((sender, event) -> _documentStores.remove(databaseName));
+    private void evictIdleDocumentStores() {
+        Duration idleTimeout = _documentStoreIdleTimeout;
+        if (idleTimeout == null) {
+            return;
+        }
 
-            store.initialize();
+        long idleSince = System.nanoTime() - idleTimeout.toNanos();
 
-            if (!options.isSkipCreatingDatabase()) {
-                tryCreateDatabase(options, store);
+        for (Map.Entry<String, DocumentStoreHolder> entry : _documentStores.entrySet()) {
+            DocumentStoreHolder holder = entry.getValue();
+            if (!holder.store.isValueCreated() || holder.lastAccess - idleSince >= 0) {
+                continue;
             }
 
+            holder.evicted = true;
+
+            if (holder.lastAccess - idleSince >= 0) {
+                // accessed in the meantime
+                holder.evicted = false;
+                continue;
+            }
+
+            evictDocumentStore(entry.getKey(), holder);
+        }
+    }
+
+    private void evictLeastRecentlyUsedDocumentStores() {
+        int maxDocumentStores = _maxDocumentStores;
+        if (maxDocumentStores <= 0) {
+            return;
+        }
+
+        while (_documentStores.size() > maxDocumentStores) {
+            Map.Entry<String, DocumentStoreHolder> leastRecentlyUsed = null;
+
+            for (Map.Entry<String, DocumentStoreHolder> entry : _documentStores.entrySet()) {
+                if (!entry.getValue().store.isValueCreated()) {
+                    continue;
+                }
+
+                if (leastRecentlyUsed == null || entry.getValue().lastAccess - leastRecentlyUsed.getValue().lastAccess < 0) {
+                    leastRecentlyUsed = entry;
+                }
+            }
+
+            if (leastRecentlyUsed == null) {
+                return;
+            }
+
+            evictDocumentStore(leastRecentlyUsed.getKey(), leastRecentlyUsed.getValue());
+        }
+    }
+
+    /**
+     * Removes cached document store of the database and closes it, e.g. before the database is deleted.
+     * Stores returned for the database earlier can't be used afterwards.
+     *
+     * @param databaseName Full database name, including prefix
+     */
+    void closeCachedDocumentStore(String databaseName) {
+        DocumentStoreHolder holder = _documentStores.get(databaseName);
+        if (holder == null) {
+            return;
+        }
+
+        holder.evicted = true;
+
+        if (_documentStores.remove(databaseName, holder) && holder.store.isValueCreated()) {
+            closeDocumentStore(holder.store.getValue());
+        }
+    }
+
+    private void evictDocumentStore(String databaseName, DocumentStoreHolder holder) {
+        holder.evicted = true;
+
+        if (!_documentStores.remove(databaseName, holder)) {
+            return;
+        }
+
+        _storeCacheEvictions.increment();
+
+        if (logger.isInfoEnabled()) {
+            logger.info("Evicting document store for '" + databaseName + "'.");
+        }
+
+        closeDocumentStore(holder.store.getValue());
+    }
+
+    /**
+     * @return Counters of document stores cached by getDocumentStore
+     */
+    public DocumentStoreCacheStatistics getDocumentStoreCacheStatistics() {
+        return new DocumentStoreCacheStatistics(_storeCacheHits.sum(), _storeCacheMisses.sum(),
+                _storeCacheEvictions.sum(), _documentStores.size());
+    }
+
+    /**
+     * Returns document stores for all given databases, creating missing databases in parallel.
+     *
+     * @param options Databases to provision
+     * @return Initialized stores keyed by database name (as given in options)
+     */
+    public Map<String, IDocumentStore> getDocumentStores(Collection<DatabaseOptions> options) {
+        return getDocumentStores(options, DEFAULT_PROVISIONING_PARALLELISM);
+    }
+
+    /**
+     * Returns document stores for all given databases, creating missing databases in parallel.
+     *
+     * @param options        Databases to provision
+     * @param maxParallelism Maximum number of databases created (and stores initialized) concurrently
+     * @return Initialized stores keyed by database name (as given in options)
+     */
+    public Map<String, IDocumentStore> getDocumentStores(Collection<DatabaseOptions> options, int maxParallelism) {
+        ensureDatabases(options, maxParallelism);
+
+        Map<String, CompletableFuture<IDocumentStore>> stores = new LinkedHashMap<>();
+
+        runInParallel(options, maxParallelism, (option, executor) -> {
+            CompletableFuture<IDocumentStore> store = CompletableFuture.supplyAsync(() -> getDocumentStore(option, false), executor);
+            stores.put(option.getDatabaseRecord().getDatabaseName(), store);
             return store;
         });
 
-        return this._documentStores.computeIfAbsent(databaseName, dbName -> lazy).getValue();
+        Map<String, IDocumentStore> result = new LinkedHashMap<>();
+        for (Map.Entry<String, CompletableFuture<IDocumentStore>> entry : stores.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().join());
+        }
+
+        return result;
+    }
+
+    /**
+     * Creates databases which don't exist yet, in parallel. Existing databases are detected using
+     * a single request for database names. Options with skipCreatingDatabase set are ignored.
+     * Seed dumps of the databases are imported in parallel as well.
+     *
+     * @param options Databases to create
+     */
+    public void ensureDatabases(Collection<DatabaseOptions> options) {
+        ensureDatabases(options, DEFAULT_PROVISIONING_PARALLELISM);
+    }
+
+    /**
+     * Creates databases which don't exist yet, in parallel. Existing databases are detected using
+     * a single request for database names. Options with skipCreatingDatabase set are ignored.
+     * Seed dumps of the databases are imported in parallel as well.
+     *
+     * @param options        Databases to create
+     * @param maxParallelism Maximum number of databases created concurrently
+     */
+    public void ensureDatabases(Collection<DatabaseOptions> options, int maxParallelism) {
+        if (maxParallelism < 1) {
+            throw new IllegalArgumentException("maxParallelism must be positive");
+        }
+
+        IDocumentStore serverStore = getServerStore();
+
+        Set<String> existing = new HashSet<>(Arrays.asList(
+                serverStore.maintenance().server().send(new GetDatabaseNamesOperation(0, Integer.MAX_VALUE))));
+
+        Set<String> handled = new HashSet<>();
+
+        List<DatabaseOptions> missing = new ArrayList<>();
+        for (DatabaseOptions option : options) {
+            String databaseName = getDatabaseName(option);
+            if (option.isSkipCreatingDatabase() || !handled.add(databaseName)) {
+                continue;
+            }
+
+            // existing databases with dumps are verified against seed checksum
+            boolean seed = option.getSeedDumps() != null && !option.getSeedDumps().isEmpty();
+            if (!existing.contains(databaseName) || seed) {
+                missing.add(option);
+            }
+        }
+
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        if (logger.isInfoEnabled()) {
+            logger.info("Creating " + missing.size() + " database(s).");
+        }
+
+        runInParallel(missing, maxParallelism, (option, executor) ->
+                CompletableFuture.runAsync(() -> tryCreateDatabase(option, getDatabaseName(option), serverStore), executor));
+    }
+
+    private static void runInParallel(Collection<DatabaseOptions> options, int maxParallelism,
+                                      BiFunction<DatabaseOptions, Executor, CompletableFuture<?>> action) {
+        if (options.isEmpty()) {
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(maxParallelism, options.size()), r -> {
+            Thread thread = new Thread(r, "RavenDB-Embedded-Provisioning");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            List<CompletableFuture<?>> tasks = new ArrayList<>();
+            for (DatabaseOptions option : options) {
+                tasks.add(action.apply(option, executor));
+            }
+
+            CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    String getDatabaseName(DatabaseOptions options) {
+        String databaseName = options.getDatabaseRecord().getDatabaseName();
+
+        if (StringUtils.isBlank(databaseName)) {
+            throw new IllegalArgumentException("DatabaseName cannot be null or whitespace");
+        }
+
+        return StringUtils.defaultString(_databaseNamePrefix) + databaseName;
+    }
+
+    /**
+     * Opens session using the single store shared by all databases of this server.
+     * Unlike {@link #getDocumentStore(String)} this doesn't create a document store (with its own request
+     * executor and background threads) per database. Database is created on first use.
+     *
+     * @param database Database name
+     * @return document session
+     */
+    public IDocumentSession openSession(String database) {
+        return openSession(new DatabaseOptions(database));
     }
 
-    private void tryCreateDatabase(DatabaseOptions options, IDocumentStore store) {
+    /**
+     * Opens session using the single store shared by all databases of this server.
+     * Conventions are configured per store, so when options define custom conventions
+     * the session is opened from a dedicated store for this database instead.
+     *
+     * @param options Database options
+     * @return document session
+     */
+    public IDocumentSession openSession(DatabaseOptions options) {
+        if (options.getConventions() != null) {
+            return getDocumentStore(options).openSession();
+        }
+
+        return getSharedDocumentStore().openSession(ensureSharedDatabase(options));
+    }
+
+    /**
+     * @param database Database name
+     * @return maintenance operations executor for given database, backed by the shared store
+     */
+    public MaintenanceOperationExecutor maintenance(String database) {
+        return getSharedDocumentStore().maintenance().forDatabase(ensureSharedDatabase(new DatabaseOptions(database)));
+    }
+
+    /**
+     * @param database Database name
+     * @return operations executor for given database, backed by the shared store
+     */
+    public OperationExecutor operations(String database) {
+        return getSharedDocumentStore().operations().forDatabase(ensureSharedDatabase(new DatabaseOptions(database)));
+    }
+
+    /**
+     * Store shared by all databases. It isn't bound to any database, so database has to be passed explicitly
+     * e.g. to openSession(database) or maintenance().forDatabase(database).
+     *
+     * @return document store shared by all databases
+     */
+    public IDocumentStore getSharedDocumentStore() {
+        return getServerStore();
+    }
+
+    private String ensureSharedDatabase(DatabaseOptions options) {
+        String databaseName = getDatabaseName(options);
+
+        if (!options.isSkipCreatingDatabase() && !_sharedDatabases.contains(databaseName)) {
+            tryCreateDatabase(options, databaseName, getServerStore());
+            _sharedDatabases.add(databaseName);
+        }
+
+        return databaseName;
+    }
+
+    /**
+     * @return store which isn't bound to any database, used for server wide operations
+     */
+    private IDocumentStore getServerStore() {
+        Lazy<IDocumentStore> serverStore = _serverStore;
+        if (serverStore == null) {
+            throw new IllegalStateException("Please run startServer() before trying to use the server.");
+        }
+
+        return serverStore.getValue();
+    }
+
+    private void tryCreateDatabase(DatabaseOptions options, String databaseName, IDocumentStore store) {
+        if (options.getRestoreBackupLocation() != null) {
+            tryRestoreDatabase(options, databaseName, store);
+        } else {
+            createDatabase(options, databaseName, store);
+        }
+
+        // existing databases are seeded as well, unless their seed checksum matches - an interrupted import
+        // leaves no checksum behind, so it is repeated
+        if (options.getSeedDumps() != null && !options.getSeedDumps().isEmpty()) {
+            DatabaseSeeder.seed(store, databaseName, options.getSeedDumps());
+        }
+    }
+
+    private void tryRestoreDatabase(DatabaseOptions options, String databaseName, IDocumentStore store) {
+        if (store.maintenance().server().send(new GetDatabaseRecordOperation(databaseName)) != null) {
+            if (logger.isInfoEnabled()) {
+                logger.info(databaseName + " already exists, skipping restore.");
+            }
+            return;
+        }
+
+        if (logger.isInfoEnabled()) {
+            logger.info("Restoring " + databaseName + " from " + options.getRestoreBackupLocation() + ".");
+        }
+
+        RestoreBackupConfiguration configuration = new RestoreBackupConfiguration();
+        configuration.setDatabaseName(databaseName);
+        configuration.setBackupLocation(options.getRestoreBackupLocation());
+
+        store.maintenance().server().sendAsync(new RestoreBackupOperation(configuration)).waitForCompletion();
+    }
+
+    private void createDatabase(DatabaseOptions options, String databaseName, IDocumentStore store) {
+        DatabaseRecord databaseRecord = options.getDatabaseRecord();
+
+        if (!databaseName.equals(databaseRecord.getDatabaseName())) {
+            // name is prefixed - don't modify record owned by the caller
+            databaseRecord = store.getConventions().getEntityMapper().convertValue(databaseRecord, DatabaseRecord.class);
+            databaseRecord.setDatabaseName(databaseName);
+        }
+
         try {
-            store.maintenance().server().send(new CreateDatabaseOperation(options.getDatabaseRecord()));
+            store.maintenance().server().send(new CreateDatabaseOperation(databaseRecord));
         } catch (ConcurrencyException e) {
             // Expected behaviour when the database is already exists
             if (logger.isInfoEnabled()) {
-                logger.info(options.getDatabaseRecord().getDatabaseName() + " already exists.");
+                logger.info(databaseName + " already exists.");
+            }
+        }
+    }
+
+    /**
+     * Configures periodic backups of the database into local directory. Configuring backups with the same
+     * name again updates existing task.
+     *
+     * @param database Database to back up
+     * @param options  Backup directory and schedule
+     * @return Id of the backup task
+     */
+    public long configureLocalBackups(String database, LocalBackupOptions options) {
+        if (StringUtils.isBlank(options.getFolderPath())) {
+            throw new IllegalArgumentException("folderPath cannot be null or whitespace");
+        }
+        if (StringUtils.isBlank(options.getFullBackupFrequency()) && StringUtils.isBlank(options.getIncrementalBackupFrequency())) {
+            throw new IllegalArgumentException("At least one of fullBackupFrequency or incrementalBackupFrequency has to be set");
+        }
+
+        String databaseName = getDatabaseName(new DatabaseOptions(database));
+        MaintenanceOperationExecutor maintenance = getServerStore().maintenance().forDatabase(databaseName);
+
+        LocalSettings localSettings = new LocalSettings();
+        localSettings.setFolderPath(options.getFolderPath());
+
+        PeriodicBackupConfiguration configuration = new PeriodicBackupConfiguration();
+        configuration.setName(options.getName());
+        configuration.setBackupType(options.isSnapshot() ? BackupType.SNAPSHOT : BackupType.BACKUP);
+        configuration.setFullBackupFrequency(options.getFullBackupFrequency());
+        configuration.setIncrementalBackupFrequency(options.getIncrementalBackupFrequency());
+        configuration.setLocalSettings(localSettings);
+
+        Long existingTaskId = findBackupTaskId(databaseName, options.getName());
+        if (existingTaskId != null) {
+            configuration.setTaskId(existingTaskId);
+        }
+
+        return maintenance.send(new UpdatePeriodicBackupOperation(configuration)).getTaskId();
+    }
+
+    private Long findBackupTaskId(String databaseName, String name) {
+        DatabaseRecordWithEtag databaseRecord = getServerStore().maintenance().server().send(new GetDatabaseRecordOperation(databaseName));
+        if (databaseRecord == null) {
+            throw new IllegalStateException("Database '" + databaseName + "' does not exist");
+        }
+
+        if (databaseRecord.getPeriodicBackups() != null) {
+            for (PeriodicBackupConfiguration backup : databaseRecord.getPeriodicBackups()) {
+                if (StringUtils.equals(name, backup.getName())) {
+                    return backup.getTaskId();
+                }
             }
         }
+
+        return null;
     }
 
     public String getServerUri() {
@@ -125,7 +864,69 @@ public class EmbeddedServer implements CleanCloseable {
             throw new IllegalStateException("Please run startServer() before trying to use the server.");
         }
 
-        return server.get().getValue().first;
+        Tuple<String, Process> serverInfo = server.get().getValue();
+
+        if (_supervisor == null && serverInfo.second != null && !serverInfo.second.isAlive()) {
+            throw new IllegalStateException("The server process has exited with code " + serverInfo.second.exitValue()
+                    + ". Enable ServerOptions.restartOnFailure to restart it automatically.");
+        }
+
+        return serverInfo.first;
+    }
+
+    /**
+     * @return server process or null when attached to a server started by another JVM in detached mode
+     */
+    Process getServerProcess() {
+        Lazy<Tuple<String, Process>> lazy = _serverTask.get();
+        if (lazy == null) {
+            throw new IllegalStateException("Please run startServer() before trying to use the server.");
+        }
+
+        return lazy.getValue().second;
+    }
+
+    /**
+     * @return pid of the server process, also when attached to a detached server, or -1 when unknown
+     */
+    long getServerPid() {
+        Lazy<Tuple<String, Process>> lazy = _serverTask.get();
+        if (lazy == null || !lazy.isValueCreated()) {
+            return ProcessUtils.UNKNOWN_PID;
+        }
+
+        Process process = lazy.getValue().second;
+        if (process != null) {
+            return ProcessUtils.getPid(process);
+        }
+
+        File stateFile = _stateFile;
+        DetachedServerState state = stateFile != null ? DetachedServerState.read(stateFile) : null;
+        return state != null ? state.getPid() : ProcessUtils.UNKNOWN_PID;
+    }
+
+    EmbeddedServerMonitor getMonitor() {
+        return _monitor;
+    }
+
+    ServerMetricsCollector getMetricsCollector() {
+        return _metricsCollector;
+    }
+
+    /**
+     * @return Number of times server process was restarted after unexpected exit
+     */
+    public int getRestartCount() {
+        ServerProcessSupervisor supervisor = _supervisor;
+        return supervisor != null ? supervisor.getRestartCount() : 0;
+    }
+
+    /**
+     * @return Total time server was unavailable due to process restarts
+     */
+    public Duration getServerDowntime() {
+        ServerProcessSupervisor supervisor = _supervisor;
+        return supervisor != null ? supervisor.getDowntime() : Duration.ZERO;
     }
 
     private void shutdownServerProcess(Process process) {
@@ -144,9 +945,14 @@ public class EmbeddedServer implements CleanCloseable {
                     logger.info("Try shutdown server gracefully.");
                 }
 
-                try (OutputStream stream = process.getOutputStream();
-                PrintWriter writer = new PrintWriter(stream)) {
-                    writer.println("shutdown no-confirmation");
+                if (_detached) {
+                    // detached server runs in non-interactive mode and doesn't read commands
+                    process.destroy();
+                } else {
+                    try (OutputStream stream = process.getOutputStream();
+                    PrintWriter writer = new PrintWriter(stream)) {
+                        writer.println("shutdown no-confirmation");
+                    }
                 }
 
                 if (process.waitFor(_gracefulShutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
@@ -173,6 +979,42 @@ public class EmbeddedServer implements CleanCloseable {
     }
 
     private Tuple<String, Process> runServer(ServerOptions options) {
+        return _tracer.trace("EmbeddedServer.runServer", () -> runServerPhases(options));
+    }
+
+    private Tuple<String, Process> runServerPhases(ServerOptions options) {
+        if (options.isShared()) {
+            SharedServerRegistry registry = new SharedServerRegistry(options.getSharedServerDirectory(), options.getSharedLeaseTimeout(),
+                    SharedServerRegistry.newParticipantId());
+
+            Tuple<String, Process> server = _tracer.trace("EmbeddedServer.joinSharedServer", () -> {
+                try {
+                    return registry.withLock(() -> {
+                        Tuple<String, Process> result = startOrAttachDetachedServer(options, registry.getStateFile(), registry::hasActiveLeases);
+                        registry.acquireLease();
+                        return result;
+                    });
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new IllegalStateException("Unable to start or join shared server: " + e.getMessage(), e);
+                }
+            });
+
+            _sharedRegistry = registry;
+            return server;
+        }
+
+        if (options.isDetached()) {
+            return startOrAttachDetachedServer(options, DetachedServerState.stateFile(options.getTargetServerLocation()), () -> false);
+        }
+
+        _tracer.trace("EmbeddedServer.provideServerFiles", () -> provideServerFiles(options));
+
+        return startServerProcess(options);
+    }
+
+    private static void provideServerFiles(ServerOptions options) {
         try {
             if (options.isClearTargetServerLocation()) {
                 FileUtils.deleteDirectory(new File(options.getTargetServerLocation()));
@@ -183,19 +1025,149 @@ public class EmbeddedServer implements CleanCloseable {
             logger.error("Failed to spawn server files. " + e.getMessage(), e);
             throw new IllegalStateException("Failed to spawn server files. " + e.getMessage(), e);
         }
+    }
+
+    /**
+     * @param inUse tells if server described by state file is still used by someone else, so it can't be replaced
+     */
+    private Tuple<String, Process> startOrAttachDetachedServer(ServerOptions options, File stateFile, BooleanSupplier inUse) {
+        _stateFile = stateFile;
+
+        String fingerprint = DetachedServerState.fingerprint(options);
+
+        Tuple<String, Process> attached = _tracer.trace("EmbeddedServer.attachDetachedServer",
+                () -> tryAttachToDetachedServer(stateFile, fingerprint, inUse));
+        if (attached != null) {
+            return attached;
+        }
+
+        _tracer.trace("EmbeddedServer.provideServerFiles", () -> provideServerFiles(options));
+
+        Tuple<String, Process> server = startServerProcess(options);
+
+        long pid = ProcessUtils.getPid(server.second);
+        DetachedServerState state = new DetachedServerState(pid, ProcessUtils.getStartTime(pid), server.first, fingerprint);
+        try {
+            state.write(stateFile);
+        } catch (IOException e) {
+            logger.warn("Unable to persist detached server state. Next start will spawn a new server.", e);
+        }
+
+        return server;
+    }
+
+    private Tuple<String, Process> tryAttachToDetachedServer(File stateFile, String fingerprint, BooleanSupplier inUse) {
+        DetachedServerState state = DetachedServerState.read(stateFile);
+        if (state == null) {
+            return null;
+        }
+
+        // pid of a stale state file may belong to an unrelated process by now
+        boolean alive = state.isProcessAlive();
+        boolean healthy = alive && _httpClient.isHealthy(state.getUrl());
+
+        if (healthy && fingerprint.equals(state.getFingerprint())) {
+            if (logger.isInfoEnabled()) {
+                logger.info("Reattached to detached server (pid " + state.getPid() + ") on " + state.getUrl());
+            }
+
+            return Tuple.create(state.getUrl(), null);
+        }
+
+        if (healthy && inUse.getAsBoolean()) {
+            throw new IllegalStateException("Server (pid " + state.getPid() + ") registered in " + stateFile
+                    + " is running with different options and is in use by other processes.");
+        }
+
+        if (alive) {
+            if (logger.isInfoEnabled()) {
+                logger.info("Stopping detached server (pid " + state.getPid() + ") which doesn't match current options.");
+            }
+
+            terminateDetachedServer(state);
+        }
+
+        FileUtils.deleteQuietly(stateFile);
+        return null;
+    }
+
+    private void terminateDetachedServer(DetachedServerState state) {
+        if (state.getStartTime() == null) {
+            logger.warn("Unable to verify that pid " + state.getPid() + " still belongs to detached server, it is not stopped.");
+            return;
+        }
+
+        if (!state.isProcessAlive()) {
+            if (logger.isInfoEnabled()) {
+                logger.info("Detached server (pid " + state.getPid() + ") is no longer running.");
+            }
+            return;
+        }
+
+        try {
+            ProcessUtils.terminate(state.getPid(), state.getStartTime(), _gracefulShutdownTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to stop detached server (pid " + state.getPid() + ")", e);
+        }
+    }
+
+    /**
+     * Closes this instance and stops the server process, also when it was started in detached mode
+     * (or reattached to).
+     */
+    public void shutdownDetachedServer() {
+        if (_sharedRegistry != null) {
+            throw new IllegalStateException("Shared server is stopped by the last participant when it is closed");
+        }
+
+        File stateFile = _stateFile;
+
+        close();
+
+        if (stateFile == null) {
+            return;
+        }
+
+        DetachedServerState state = DetachedServerState.read(stateFile);
+        if (state != null) {
+            terminateDetachedServer(state);
+            FileUtils.deleteQuietly(stateFile);
+        }
+    }
+
+    private Tuple<String, Process> startServerProcess(ServerOptions options) {
+        return startServerProcess(options, null);
+    }
+
+    private Tuple<String, Process> startServerProcess(ServerOptions options, String serverUrlOverride) {
+        File detachedOutput = options.runsDetached() ? RavenServerRunner.getDetachedOutputFile(options) : null;
+        long detachedOutputPosition = detachedOutput != null ? detachedOutput.length() : 0;
+
+        Process process = _tracer.trace("EmbeddedServer.spawnServerProcess", () -> RavenServerRunner.run(options, serverUrlOverride));
+
+        InputStream output = detachedOutput != null
+                ? new FileTailInputStream(detachedOutput, detachedOutputPosition, process)
+                : process.getInputStream();
+
+        try {
+            return _tracer.trace("EmbeddedServer.waitForServerUrl", () -> readServerUrl(process, output, options));
+        } finally {
+            if (detachedOutput != null) {
+                IOUtils.closeQuietly(output);
+            }
+        }
+    }
 
-        Process process = RavenServerRunner.run(options);
+    private Tuple<String, Process> readServerUrl(Process process, InputStream output, ServerOptions options) {
 
         if (logger.isInfoEnabled()) {
             logger.info("Starting global server");
         }
 
-        Runtime.getRuntime().addShutdownHook(new Thread(() -> shutdownServerProcess(process)));
-
         Reference<String> urlRef = new Reference<>();
         Stopwatch startupDuration = Stopwatch.createStarted();
 
-        String outputString = readOutput(process.getInputStream(), startupDuration, options, (line, builder) -> {
+        String outputString = readOutput(output, startupDuration, options, (line, builder) -> {
 
             if (line == null) {
                 String errorString = readOutput(process.getErrorStream(), startupDuration, options, null);
@@ -335,20 +1307,141 @@ public class EmbeddedServer implements CleanCloseable {
 
     @Override
     public void close() {
+        closeAsync().join();
+    }
+
+    /**
+     * Closes all document stores in parallel and then gracefully shuts down the server process.
+     *
+     * @return future completed when server is down, with timings of individual phases
+     */
+    public CompletableFuture<ShutdownTimings> closeAsync() {
+        ServerProcessSupervisor supervisor = _supervisor;
+        _supervisor = null;
+        if (supervisor != null) {
+            supervisor.close();
+        }
+
         Lazy<Tuple<String, Process>> lazy = _serverTask.getAndSet(null);
-        if (lazy == null || !lazy.isValueCreated()) {
-            return;
+
+        ShutdownCoordinator.INSTANCE.unregister(this);
+
+        EmbeddedServerMonitor monitor = _monitor;
+        _monitor = null;
+        if (monitor != null) {
+            monitor.unregister();
         }
 
-        Process process = lazy.getValue().second;
-        shutdownServerProcess(process);
+        ServerMetricsCollector metricsCollector = _metricsCollector;
+        _metricsCollector = null;
+        if (metricsCollector != null) {
+            metricsCollector.close();
+        }
+
+        if (lazy == null) {
+            return CompletableFuture.completedFuture(ShutdownTimings.EMPTY);
+        }
 
-        for (Map.Entry<String, Lazy<IDocumentStore>> item : _documentStores.entrySet()) {
-            if (item.getValue().isValueCreated()) {
-                item.getValue().getValue().close();
+        List<IDocumentStore> stores = new ArrayList<>();
+        for (DocumentStoreHolder item : _documentStores.values()) {
+            if (item.store.isValueCreated()) {
+                stores.add(item.store.getValue());
             }
         }
 
         _documentStores.clear();
+        _sharedDatabases.clear();
+
+        ScheduledExecutorService maintenanceExecutor = _maintenanceExecutor;
+        _maintenanceExecutor = null;
+        if (maintenanceExecutor != null) {
+            maintenanceExecutor.shutdownNow();
+        }
+
+        Lazy<IDocumentStore> serverStore = _serverStore;
+        _serverStore = null;
+        if (serverStore != null && serverStore.isValueCreated()) {
+            stores.add(serverStore.getValue());
+        }
+
+        ExecutorService executor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "RavenDB-Embedded-Close");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long start = System.nanoTime();
+
+        CompletableFuture<?>[] closing = stores.stream()
+                .map(store -> CompletableFuture.runAsync(() -> closeDocumentStore(store), executor))
+                .toArray(CompletableFuture[]::new);
+
+        CompletableFuture<ShutdownTimings> result = CompletableFuture.allOf(closing)
+                .thenApplyAsync(x -> {
+                    long storesClosed = System.nanoTime();
+
+                    if (lazy.isValueCreated() && !_detached) {
+                        shutdownServerProcess(lazy.getValue().second);
+                    }
+
+                    leaveSharedServer();
+
+                    return new ShutdownTimings(stores.size(),
+                            Duration.ofNanos(storesClosed - start),
+                            Duration.ofNanos(System.nanoTime() - storesClosed));
+                }, executor);
+
+        result.whenComplete((timings, e) -> executor.shutdown());
+
+        return result;
+    }
+
+    private void leaveSharedServer() {
+        SharedServerRegistry registry = _sharedRegistry;
+        if (registry == null) {
+            return;
+        }
+
+        _sharedRegistry = null;
+
+        try {
+            registry.withLock(() -> {
+                if (registry.releaseLease()) {
+                    DetachedServerState state = DetachedServerState.read(registry.getStateFile());
+                    if (state != null) {
+                        if (logger.isInfoEnabled()) {
+                            logger.info("Last participant left, stopping shared server (pid " + state.getPid() + ").");
+                        }
+
+                        terminateDetachedServer(state);
+                        FileUtils.deleteQuietly(registry.getStateFile());
+                    }
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            logger.warn("Failed to leave shared server.", e);
+        }
+    }
+
+    private static void closeDocumentStore(IDocumentStore store) {
+        try {
+            store.close();
+        } catch (Exception e) {
+            if (logger.isInfoEnabled()) {
+                logger.info("Failed to close document store for '" + store.getDatabase() + "'.", e);
+            }
+        }
+    }
+
+    private static class DocumentStoreHolder {
+        private Lazy<IDocumentStore> store;
+        private volatile long lastAccess = System.nanoTime();
+        private volatile boolean evicted;
+        private volatile ResultCache resultCache;
+
+        void touch() {
+            lastAccess = System.nanoTime();
+        }
     }
 }
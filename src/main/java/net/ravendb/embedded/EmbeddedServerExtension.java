@@ -0,0 +1,184 @@
+package net.ravendb.embedded;
+
+import net.ravendb.client.documents.IDocumentStore;
+import net.ravendb.client.serverwide.operations.DeleteDatabasesOperation;
+import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolutionException;
+import org.junit.jupiter.api.extension.ParameterResolver;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * JUnit 5 extension which shares a single {@link EmbeddedServer} between tests and gives every test
+ * its own database.
+ * <p>
+ * Test methods (and their lifecycle methods) can declare {@link IDocumentStore} and {@link EmbeddedServer}
+ * parameters. Each test gets a store bound to a uniquely named database, which is deleted in the background
+ * once the test finishes. The server itself is started on first use and closed when its scope ends.
+ */
+public class EmbeddedServerExtension implements ParameterResolver, AfterEachCallback {
+
+    public enum Scope {
+        /**
+         * One server for the whole test run
+         */
+        JVM,
+        /**
+         * One server per test class
+         */
+        CLASS
+    }
+
+    private static final Log logger = LogFactory.getLog(EmbeddedServerExtension.class);
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(EmbeddedServerExtension.class);
+
+    private static final String SERVER_KEY = "server";
+    private static final String DATABASE_KEY = "database";
+
+    private static final AtomicLong DATABASE_COUNTER = new AtomicLong();
+
+    private final Supplier<ServerOptions> serverOptions;
+    private final Scope scope;
+
+    public EmbeddedServerExtension() {
+        this(ServerOptions::new);
+    }
+
+    public EmbeddedServerExtension(Supplier<ServerOptions> serverOptions) {
+        this(serverOptions, Scope.JVM);
+    }
+
+    /**
+     * @param serverOptions Supplies options used when server is started. When several extensions share
+     *                      the same scope, the first one to start the server wins.
+     * @param scope         Lifetime of the server
+     */
+    public EmbeddedServerExtension(Supplier<ServerOptions> serverOptions, Scope scope) {
+        if (serverOptions == null) {
+            throw new IllegalArgumentException("serverOptions cannot be null");
+        }
+        if (scope == null) {
+            throw new IllegalArgumentException("scope cannot be null");
+        }
+
+        this.serverOptions = serverOptions;
+        this.scope = scope;
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) throws ParameterResolutionException {
+        Class<?> type = parameterContext.getParameter().getType();
+        return type == IDocumentStore.class || type == EmbeddedServer.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) throws ParameterResolutionException {
+        ServerResource server = getServer(extensionContext);
+
+        if (parameterContext.getParameter().getType() == EmbeddedServer.class) {
+            return server.getServer();
+        }
+
+        if (!extensionContext.getTestMethod().isPresent()) {
+            throw new ParameterResolutionException("IDocumentStore can only be injected into test methods and their @BeforeEach/@AfterEach methods");
+        }
+
+        String databaseName = extensionContext.getStore(NAMESPACE)
+                .getOrComputeIfAbsent(DATABASE_KEY, k -> generateDatabaseName(extensionContext), String.class);
+
+        return server.getServer().getDocumentStore(databaseName);
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        String databaseName = context.getStore(NAMESPACE).remove(DATABASE_KEY, String.class);
+        if (databaseName == null) {
+            return;
+        }
+
+        getServer(context).deleteDatabaseAsync(databaseName);
+    }
+
+    private ServerResource getServer(ExtensionContext context) {
+        ExtensionContext scopeContext = scope == Scope.JVM ? context.getRoot() : findClassContext(context);
+
+        return scopeContext.getStore(NAMESPACE)
+                .getOrComputeIfAbsent(SERVER_KEY, k -> new ServerResource(serverOptions.get()), ServerResource.class);
+    }
+
+    private static ExtensionContext findClassContext(ExtensionContext context) {
+        ExtensionContext current = context;
+        while (current.getTestMethod().isPresent() && current.getParent().isPresent()) {
+            current = current.getParent().get();
+        }
+
+        return current;
+    }
+
+    private static String generateDatabaseName(ExtensionContext context) {
+        String className = context.getTestClass().map(Class::getSimpleName).orElse("Test");
+        String methodName = context.getTestMethod().map(Method::getName).orElse("test");
+
+        String name = className + "_" + methodName + "_" + DATABASE_COUNTER.incrementAndGet();
+        return name.replaceAll("[^A-Za-z0-9_\\-.]", "_");
+    }
+
+    private static class ServerResource implements ExtensionContext.Store.CloseableResource {
+
+        private final EmbeddedServer server;
+        private final ExecutorService cleanupExecutor;
+
+        ServerResource(ServerOptions options) {
+            cleanupExecutor = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "RavenDB-Embedded-Test-Cleanup");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+            server = new EmbeddedServer();
+            server.startServer(ObjectUtils.firstNonNull(options, ServerOptions.INSTANCE));
+        }
+
+        EmbeddedServer getServer() {
+            return server;
+        }
+
+        void deleteDatabaseAsync(String databaseName) {
+            cleanupExecutor.submit(() -> {
+                String fullName = server.getDatabaseName(new DatabaseOptions(databaseName));
+
+                try {
+                    // otherwise the store, with its request executor, stays cached until the server is closed
+                    server.closeCachedDocumentStore(fullName);
+
+                    server.getSharedDocumentStore().maintenance().server().send(new DeleteDatabasesOperation(fullName, true));
+                } catch (Exception e) {
+                    if (logger.isInfoEnabled()) {
+                        logger.info("Failed to delete test database '" + databaseName + "'.", e);
+                    }
+                }
+            });
+        }
+
+        @Override
+        public void close() throws Throwable {
+            try {
+                cleanupExecutor.shutdown();
+                cleanupExecutor.awaitTermination(1, TimeUnit.MINUTES);
+            } finally {
+                server.close();
+            }
+        }
+    }
+}
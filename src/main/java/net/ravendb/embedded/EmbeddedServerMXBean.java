@@ -0,0 +1,40 @@
+package net.ravendb.embedded;
+
+/**
+ * Management interface of {@link EmbeddedServer}, registered in the platform MBean server under
+ * {@code net.ravendb.embedded:type=EmbeddedServer,name=<n>}.
+ * <p>
+ * Process resource usage is read from /proc and is available on Linux only, unavailable values are -1.
+ * Values are sampled at most once per second.
+ */
+public interface EmbeddedServerMXBean {
+
+    String getServerUrl();
+
+    long getPid();
+
+    long getUptimeMillis();
+
+    long getResidentMemoryBytes();
+
+    long getCpuTimeMillis();
+
+    int getThreadCount();
+
+    int getOpenFileDescriptorCount();
+
+    long getIoReadBytes();
+
+    long getIoWriteBytes();
+
+    int getOpenDocumentStoreCount();
+
+    int getRestartCount();
+
+    long getSlowRequestCount();
+
+    /**
+     * @return Most recent slow requests, newest first
+     */
+    String[] getSlowRequests();
+}
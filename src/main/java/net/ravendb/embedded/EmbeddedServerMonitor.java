@@ -0,0 +1,160 @@
+package net.ravendb.embedded;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Exposes resource usage of the server process through JMX. /proc is read at most once per
+ * {@link #SAMPLE_INTERVAL_NANOS}, so frequent polling by monitoring tools doesn't add up.
+ */
+class EmbeddedServerMonitor implements EmbeddedServerMXBean {
+
+    private static final Log logger = LogFactory.getLog(EmbeddedServerMonitor.class);
+
+    private static final long SAMPLE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+
+    private final EmbeddedServer server;
+
+    private ProcessResourceUsage sample;
+    private long samplePid;
+    private long sampledAt;
+
+    private ObjectName objectName;
+
+    EmbeddedServerMonitor(EmbeddedServer server) {
+        this.server = server;
+    }
+
+    void register() {
+        try {
+            ObjectName name = new ObjectName("net.ravendb.embedded:type=EmbeddedServer,name=" + COUNTER.incrementAndGet());
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+            objectName = name;
+        } catch (Exception e) {
+            logger.warn("Unable to register EmbeddedServer MBean: " + e.getMessage(), e);
+        }
+    }
+
+    void unregister() {
+        ObjectName name = objectName;
+        if (name == null) {
+            return;
+        }
+
+        objectName = null;
+
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            if (mBeanServer.isRegistered(name)) {
+                mBeanServer.unregisterMBean(name);
+            }
+        } catch (Exception e) {
+            if (logger.isInfoEnabled()) {
+                logger.info("Unable to unregister EmbeddedServer MBean.", e);
+            }
+        }
+    }
+
+    ObjectName getObjectName() {
+        return objectName;
+    }
+
+    private synchronized ProcessResourceUsage getUsage() {
+        long pid = getPid();
+        long now = System.nanoTime();
+
+        if (pid != samplePid || now - sampledAt >= SAMPLE_INTERVAL_NANOS) {
+            sample = ProcessResourceUsage.read(pid);
+            samplePid = pid;
+            sampledAt = now;
+        }
+
+        return sample;
+    }
+
+    @Override
+    public String getServerUrl() {
+        try {
+            return server.getServerUri();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public long getPid() {
+        return server.getServerPid();
+    }
+
+    @Override
+    public long getUptimeMillis() {
+        ProcessResourceUsage usage = getUsage();
+        return usage != null ? usage.getUptimeMillis() : -1;
+    }
+
+    @Override
+    public long getResidentMemoryBytes() {
+        ProcessResourceUsage usage = getUsage();
+        return usage != null ? usage.getResidentBytes() : -1;
+    }
+
+    @Override
+    public long getCpuTimeMillis() {
+        ProcessResourceUsage usage = getUsage();
+        return usage != null ? TimeUnit.NANOSECONDS.toMillis(usage.getCpuTimeNanos()) : -1;
+    }
+
+    @Override
+    public int getThreadCount() {
+        ProcessResourceUsage usage = getUsage();
+        return usage != null ? usage.getThreadCount() : -1;
+    }
+
+    @Override
+    public int getOpenFileDescriptorCount() {
+        ProcessResourceUsage usage = getUsage();
+        return usage != null ? usage.getOpenFileDescriptors() : -1;
+    }
+
+    @Override
+    public long getIoReadBytes() {
+        ProcessResourceUsage usage = getUsage();
+        return usage != null ? usage.getIoReadBytes() : -1;
+    }
+
+    @Override
+    public long getIoWriteBytes() {
+        ProcessResourceUsage usage = getUsage();
+        return usage != null ? usage.getIoWriteBytes() : -1;
+    }
+
+    @Override
+    public int getOpenDocumentStoreCount() {
+        return server.getDocumentStoreCacheStatistics().getOpenStores();
+    }
+
+    @Override
+    public int getRestartCount() {
+        return server.getRestartCount();
+    }
+
+    @Override
+    public long getSlowRequestCount() {
+        return server.getSlowRequestCount();
+    }
+
+    @Override
+    public String[] getSlowRequests() {
+        return server.getSlowRequests().stream()
+                .map(SlowRequest::toString)
+                .toArray(String[]::new);
+    }
+}
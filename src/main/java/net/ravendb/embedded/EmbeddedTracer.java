@@ -0,0 +1,215 @@
+package net.ravendb.embedded;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Creates spans for startup phases and requests and hands them to {@link TraceExporter}.
+ * <p>
+ * Spans started with {@link #trace(String, Supplier)} become parents of spans started on the same thread
+ * while they are running. Outside of them, the caller's trace (if any) is taken from the exporter.
+ * Requests carry W3C traceparent header of their span.
+ */
+class EmbeddedTracer implements RequestInstrumentation.Observer {
+
+    private static final Log logger = LogFactory.getLog(EmbeddedTracer.class);
+
+    static final String TRACEPARENT_HEADER = "traceparent";
+
+    static final EmbeddedTracer NOOP = new EmbeddedTracer(null);
+
+    private final TraceExporter exporter;
+
+    private final ThreadLocal<Span> current = new ThreadLocal<>();
+    private final ThreadLocal<Span> currentRequest = new ThreadLocal<>();
+
+    private final AtomicBoolean failureLogged = new AtomicBoolean();
+
+    EmbeddedTracer(TraceExporter exporter) {
+        this.exporter = exporter;
+    }
+
+    boolean isEnabled() {
+        return exporter != null;
+    }
+
+    <T> T trace(String name, Supplier<T> action) {
+        if (exporter == null) {
+            return action.get();
+        }
+
+        Span parent = current.get();
+        Span span = startSpan(name, TraceSpan.Kind.INTERNAL, parent);
+        current.set(span);
+
+        try {
+            return action.get();
+        } catch (RuntimeException | Error e) {
+            span.error = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+            throw e;
+        } finally {
+            if (parent != null) {
+                current.set(parent);
+            } else {
+                current.remove();
+            }
+
+            end(span);
+        }
+    }
+
+    void trace(String name, Runnable action) {
+        trace(name, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    @Override
+    public void onRequestStart(RequestInstrumentation.RequestContext context) {
+        HttpUriRequest request = context.getRequest();
+
+        Span span = startSpan("RavenDB " + context.getOperation(), TraceSpan.Kind.CLIENT, current.get());
+        span.attributes.put("db.system", "ravendb");
+        if (context.getDatabase() != null) {
+            span.attributes.put("db.name", context.getDatabase());
+        }
+        span.attributes.put("http.method", request.getMethod());
+        span.attributes.put("http.url", request.getURI().toString());
+
+        request.setHeader(TRACEPARENT_HEADER, "00-" + span.traceId + "-" + span.spanId + "-01");
+
+        currentRequest.set(span);
+    }
+
+    @Override
+    public void onRequestComplete(RequestInstrumentation.RequestContext context) {
+        Span span = currentRequest.get();
+        currentRequest.remove();
+
+        if (span == null) {
+            return;
+        }
+
+        HttpResponse response = context.getResponse();
+        if (response != null) {
+            span.attributes.put("http.status_code", Integer.toString(response.getStatusLine().getStatusCode()));
+        }
+
+        Exception exception = context.getException();
+        if (exception != null) {
+            span.error = exception.getMessage() != null ? exception.getMessage() : exception.getClass().getName();
+        }
+
+        end(span);
+    }
+
+    private Span startSpan(String name, TraceSpan.Kind kind, Span parent) {
+        String traceId;
+        String parentSpanId;
+
+        if (parent != null) {
+            traceId = parent.traceId;
+            parentSpanId = parent.spanId;
+        } else {
+            String[] callerContext = parseTraceParent(currentTraceParent());
+            traceId = callerContext != null ? callerContext[0] : randomHex(2);
+            parentSpanId = callerContext != null ? callerContext[1] : null;
+        }
+
+        return new Span(traceId, randomHex(1), parentSpanId, name, kind);
+    }
+
+    private String currentTraceParent() {
+        try {
+            return exporter.currentTraceParent();
+        } catch (RuntimeException e) {
+            // exporter must not fail the request, span starts a new trace instead
+            logFailure("Trace exporter failed to provide current trace", e);
+            return null;
+        }
+    }
+
+    private void end(Span span) {
+        TraceSpan finished = new TraceSpan(span.traceId, span.spanId, span.parentSpanId, span.name, span.kind,
+                span.startTime, Duration.ofNanos(System.nanoTime() - span.startNanos),
+                Collections.unmodifiableMap(span.attributes), span.error);
+
+        try {
+            exporter.export(finished);
+        } catch (RuntimeException e) {
+            logFailure("Trace exporter failed to export span " + span.name, e);
+        }
+    }
+
+    /**
+     * First failure is logged as warning, following ones only at debug level to not flood the log.
+     */
+    private void logFailure(String message, RuntimeException e) {
+        if (failureLogged.compareAndSet(false, true)) {
+            logger.warn(message + ", further failures are logged at debug level.", e);
+        } else if (logger.isDebugEnabled()) {
+            logger.debug(message, e);
+        }
+    }
+
+    /**
+     * @return trace id and span id, or null when value is not a valid traceparent (version-traceid-spanid-flags)
+     */
+    static String[] parseTraceParent(String traceParent) {
+        if (traceParent == null) {
+            return null;
+        }
+
+        String[] parts = traceParent.trim().split("-");
+        if (parts.length < 4 || parts[1].length() != 32 || parts[2].length() != 16) {
+            return null;
+        }
+
+        return new String[]{parts[1].toLowerCase(), parts[2].toLowerCase()};
+    }
+
+    private static String randomHex(int longs) {
+        StringBuilder sb = new StringBuilder(longs * 16);
+        for (int i = 0; i < longs; i++) {
+            String hex = Long.toHexString(ThreadLocalRandom.current().nextLong());
+            for (int j = hex.length(); j < 16; j++) {
+                sb.append('0');
+            }
+            sb.append(hex);
+        }
+
+        return sb.toString();
+    }
+
+    private static class Span {
+        private final String traceId;
+        private final String spanId;
+        private final String parentSpanId;
+        private final String name;
+        private final TraceSpan.Kind kind;
+        private final Instant startTime = Instant.now();
+        private final long startNanos = System.nanoTime();
+        private final Map<String, String> attributes = new LinkedHashMap<>();
+        private String error;
+
+        Span(String traceId, String spanId, String parentSpanId, String name, TraceSpan.Kind kind) {
+            this.traceId = traceId;
+            this.spanId = spanId;
+            this.parentSpanId = parentSpanId;
+            this.name = name;
+            this.kind = kind;
+        }
+    }
+}
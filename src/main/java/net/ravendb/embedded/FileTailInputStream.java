@@ -0,0 +1,81 @@
+package net.ravendb.embedded;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+
+/**
+ * Follows output file of a process (like tail -f). Stream ends when the process exits and
+ * all its output was read, or when stream is closed.
+ */
+class FileTailInputStream extends InputStream {
+
+    private static final long POLL_INTERVAL_MILLIS = 50;
+
+    private final File file;
+    private final Process process;
+
+    private RandomAccessFile reader;
+    private long position;
+    private volatile boolean closed;
+
+    FileTailInputStream(File file, long position, Process process) {
+        this.file = file;
+        this.position = position;
+        this.process = process;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] buffer = new byte[1];
+        int read = read(buffer, 0, 1);
+        return read == -1 ? -1 : buffer[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        try {
+            while (!closed) {
+                boolean processAlive = process.isAlive();
+
+                if (reader == null && file.exists()) {
+                    reader = new RandomAccessFile(file, "r");
+                    reader.seek(position);
+                }
+
+                if (reader != null) {
+                    int read = reader.read(b, off, len);
+                    if (read > 0) {
+                        position += read;
+                        return read;
+                    }
+                }
+
+                if (!processAlive) {
+                    break;
+                }
+
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        closeReader();
+        return -1;
+    }
+
+    @Override
+    public void close() {
+        // reader is released by the reading thread
+        closed = true;
+    }
+
+    private void closeReader() throws IOException {
+        if (reader != null) {
+            reader.close();
+            reader = null;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package net.ravendb.embedded;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps the most recent spans in memory, intended for tests.
+ */
+public class InMemoryTraceExporter implements TraceExporter {
+
+    private final int capacity;
+    private final Deque<TraceSpan> spans = new ArrayDeque<>();
+
+    public InMemoryTraceExporter() {
+        this(10_000);
+    }
+
+    /**
+     * @param capacity Maximum number of kept spans, oldest are dropped first
+     */
+    public InMemoryTraceExporter(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1");
+        }
+
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void export(TraceSpan span) {
+        if (spans.size() == capacity) {
+            spans.removeFirst();
+        }
+
+        spans.addLast(span);
+    }
+
+    /**
+     * @return spans in the order they finished
+     */
+    public synchronized List<TraceSpan> getSpans() {
+        return new ArrayList<>(spans);
+    }
+
+    public synchronized void clear() {
+        spans.clear();
+    }
+}
@@ -0,0 +1,79 @@
+package net.ravendb.embedded;
+
+/**
+ * Periodic backups of a database into local directory, see {@link EmbeddedServer#configureLocalBackups(String, LocalBackupOptions)}
+ */
+public class LocalBackupOptions {
+
+    private String folderPath;
+    private String name = "Embedded local backup";
+    private boolean snapshot;
+    private String fullBackupFrequency = "0 2 * * *";
+    private String incrementalBackupFrequency;
+
+    public LocalBackupOptions() {
+    }
+
+    public LocalBackupOptions(String folderPath) {
+        this.folderPath = folderPath;
+    }
+
+    public String getFolderPath() {
+        return folderPath;
+    }
+
+    /**
+     * @param folderPath Directory where backups are stored, accessible by the server process
+     */
+    public void setFolderPath(String folderPath) {
+        this.folderPath = folderPath;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @param name Name of the backup task. Configuring backups with the same name again updates the task.
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public boolean isSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Snapshots contain raw data files including indexes, so they are restored much faster than
+     * regular backups, which have to be re-indexed. They take more disk space, so regular backups are taken
+     * by default.
+     *
+     * @param snapshot Take snapshots instead of regular backups
+     */
+    public void setSnapshot(boolean snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    public String getFullBackupFrequency() {
+        return fullBackupFrequency;
+    }
+
+    /**
+     * @param fullBackupFrequency Cron expression of full backups (or snapshots)
+     */
+    public void setFullBackupFrequency(String fullBackupFrequency) {
+        this.fullBackupFrequency = fullBackupFrequency;
+    }
+
+    public String getIncrementalBackupFrequency() {
+        return incrementalBackupFrequency;
+    }
+
+    /**
+     * @param incrementalBackupFrequency Cron expression of incremental backups, null disables them
+     */
+    public void setIncrementalBackupFrequency(String incrementalBackupFrequency) {
+        this.incrementalBackupFrequency = incrementalBackupFrequency;
+    }
+}
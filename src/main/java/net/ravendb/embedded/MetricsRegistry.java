@@ -0,0 +1,35 @@
+package net.ravendb.embedded;
+
+import java.util.Map;
+
+/**
+ * Bridge to a metrics library (Micrometer, Dropwizard, OpenTelemetry, ...) used to publish metrics
+ * collected from the embedded server, see {@link ServerOptions#setMetricsRegistry(MetricsRegistry)}.
+ * <p>
+ * Gauges and counters are requested once per metric and then updated on every collection, so implementations
+ * may do the expensive registration work in {@link #gauge(String, Map)} and {@link #counter(String, Map)}.
+ */
+public interface MetricsRegistry {
+
+    /**
+     * @param name Dot separated metric name, e.g. ravendb.server.memory.allocated_memory_in_mb
+     * @param tags Metric tags, e.g. database name
+     */
+    Gauge gauge(String name, Map<String, String> tags);
+
+    /**
+     * @param name Dot separated metric name, e.g. ravendb.server.network.total_requests
+     * @param tags Metric tags, e.g. database name
+     */
+    Counter counter(String name, Map<String, String> tags);
+
+    @FunctionalInterface
+    interface Gauge {
+        void set(double value);
+    }
+
+    @FunctionalInterface
+    interface Counter {
+        void increment(long delta);
+    }
+}
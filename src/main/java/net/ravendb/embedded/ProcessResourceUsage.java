@@ -0,0 +1,157 @@
+package net.ravendb.embedded;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.SystemUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Resource usage of a process, read from /proc (Linux only). Values which couldn't be read are -1.
+ */
+class ProcessResourceUsage {
+
+    // USER_HZ, which is 100 on all mainstream architectures
+    private static final long CLOCK_TICKS_PER_SECOND = 100;
+
+    private final long residentBytes;
+    private final long cpuTimeNanos;
+    private final long uptimeMillis;
+    private final int threadCount;
+    private final int openFileDescriptors;
+    private final long ioReadBytes;
+    private final long ioWriteBytes;
+
+    ProcessResourceUsage(long residentBytes, long cpuTimeNanos, long uptimeMillis, int threadCount,
+                         int openFileDescriptors, long ioReadBytes, long ioWriteBytes) {
+        this.residentBytes = residentBytes;
+        this.cpuTimeNanos = cpuTimeNanos;
+        this.uptimeMillis = uptimeMillis;
+        this.threadCount = threadCount;
+        this.openFileDescriptors = openFileDescriptors;
+        this.ioReadBytes = ioReadBytes;
+        this.ioWriteBytes = ioWriteBytes;
+    }
+
+    long getResidentBytes() {
+        return residentBytes;
+    }
+
+    /**
+     * @return user and system CPU time consumed by the process so far
+     */
+    long getCpuTimeNanos() {
+        return cpuTimeNanos;
+    }
+
+    long getUptimeMillis() {
+        return uptimeMillis;
+    }
+
+    int getThreadCount() {
+        return threadCount;
+    }
+
+    int getOpenFileDescriptors() {
+        return openFileDescriptors;
+    }
+
+    /**
+     * @return bytes the process caused to be fetched from storage
+     */
+    long getIoReadBytes() {
+        return ioReadBytes;
+    }
+
+    /**
+     * @return bytes the process caused to be sent to storage
+     */
+    long getIoWriteBytes() {
+        return ioWriteBytes;
+    }
+
+    /**
+     * @return usage of the process, or null when not available (process exited or not running on Linux)
+     */
+    static ProcessResourceUsage read(long pid) {
+        if (!SystemUtils.IS_OS_LINUX || pid <= 0) {
+            return null;
+        }
+
+        Path proc = Paths.get("/proc", Long.toString(pid));
+
+        try {
+            long residentBytes = 0;
+            List<String> status = Files.readAllLines(proc.resolve("status"), StandardCharsets.UTF_8);
+            for (String line : status) {
+                if (line.startsWith("VmRSS:")) {
+                    // VmRSS:     123456 kB
+                    residentBytes = Long.parseLong(StringUtils.split(line)[1]) * 1024;
+                    break;
+                }
+            }
+
+            // comm (2nd field) can contain spaces, fields after it are counted from the closing parenthesis
+            String stat = new String(Files.readAllBytes(proc.resolve("stat")), StandardCharsets.UTF_8);
+            String[] fields = StringUtils.split(stat.substring(stat.lastIndexOf(')') + 2));
+            long ticks = Long.parseLong(fields[11]) + Long.parseLong(fields[12]); // utime + stime
+            int threadCount = Integer.parseInt(fields[17]);
+            long startTicks = Long.parseLong(fields[19]); // since boot
+
+            long[] io = readIo(proc);
+
+            return new ProcessResourceUsage(residentBytes,
+                    TimeUnit.SECONDS.toNanos(ticks) / CLOCK_TICKS_PER_SECOND,
+                    readUptimeMillis(startTicks),
+                    threadCount,
+                    countFileDescriptors(proc),
+                    io[0], io[1]);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static long readUptimeMillis(long startTicks) {
+        try {
+            // /proc/uptime: seconds since boot, idle seconds
+            String uptime = new String(Files.readAllBytes(Paths.get("/proc/uptime")), StandardCharsets.UTF_8);
+            double systemUptimeSeconds = Double.parseDouble(StringUtils.split(uptime)[0]);
+            return Math.max(0, (long) (systemUptimeSeconds * 1000) - TimeUnit.SECONDS.toMillis(startTicks) / CLOCK_TICKS_PER_SECOND);
+        } catch (IOException | RuntimeException e) {
+            return -1;
+        }
+    }
+
+    private static int countFileDescriptors(Path proc) {
+        try (Stream<Path> fds = Files.list(proc.resolve("fd"))) {
+            return (int) fds.count();
+        } catch (IOException | RuntimeException e) {
+            return -1;
+        }
+    }
+
+    private static long[] readIo(Path proc) {
+        long[] result = { -1, -1 };
+
+        try {
+            // /proc/<pid>/io is readable only by the owner of the process
+            for (String line : Files.readAllLines(proc.resolve("io"), StandardCharsets.UTF_8)) {
+                if (line.startsWith("read_bytes:")) {
+                    result[0] = Long.parseLong(StringUtils.substringAfter(line, ":").trim());
+                } else if (line.startsWith("write_bytes:")) {
+                    result[1] = Long.parseLong(StringUtils.substringAfter(line, ":").trim());
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // leave unknown
+        }
+
+        return result;
+    }
+}
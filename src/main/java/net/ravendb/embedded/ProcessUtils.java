@@ -0,0 +1,178 @@
+package net.ravendb.embedded;
+
+import org.apache.commons.lang3.SystemUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Process related helpers which work on Java 8 and use {@code ProcessHandle} when running on newer JVMs.
+ */
+class ProcessUtils {
+
+    static final long UNKNOWN_PID = -1;
+
+    private ProcessUtils() {
+    }
+
+    static long getCurrentPid() {
+        String jvmName = ManagementFactory.getRuntimeMXBean().getName();
+        int index = jvmName.indexOf('@');
+
+        if (index < 1) {
+            return UNKNOWN_PID;
+        }
+
+        try {
+            return Long.parseLong(jvmName.substring(0, index));
+        } catch (NumberFormatException e) {
+            return UNKNOWN_PID;
+        }
+    }
+
+    static long getPid(Process process) {
+        if (process == null) {
+            return UNKNOWN_PID;
+        }
+
+        try {
+            Method pid = Process.class.getMethod("pid");
+            return (long) pid.invoke(process);
+        } catch (Exception e) {
+            // Java 8
+        }
+
+        try {
+            Field pid = process.getClass().getDeclaredField("pid");
+            pid.setAccessible(true);
+            return pid.getLong(process);
+        } catch (Exception e) {
+            return UNKNOWN_PID;
+        }
+    }
+
+    static boolean isAlive(long pid) {
+        if (pid <= 0) {
+            return false;
+        }
+
+        Optional<Object> handle = processHandle(pid);
+        if (handle != null) {
+            if (!handle.isPresent()) {
+                return false;
+            }
+
+            try {
+                return (boolean) Class.forName("java.lang.ProcessHandle").getMethod("isAlive").invoke(handle.get());
+            } catch (Exception e) {
+                return false;
+            }
+        }
+
+        if (SystemUtils.IS_OS_LINUX) {
+            return new File("/proc/" + pid).exists();
+        }
+
+        // unable to tell - let the caller verify it using health check
+        return true;
+    }
+
+    /**
+     * Start time identifies the process together with its pid, as pids are reused (e.g. after reboot).
+     * On Linux it is the start time in clock ticks since boot (field 22 of /proc/[pid]/stat) prefixed by boot id.
+     *
+     * @return start time of the process, or null when it isn't running or start time is not available
+     */
+    static String getStartTime(long pid) {
+        if (pid <= 0) {
+            return null;
+        }
+
+        if (SystemUtils.IS_OS_LINUX) {
+            try {
+                String bootId = new String(Files.readAllBytes(Paths.get("/proc/sys/kernel/random/boot_id")), StandardCharsets.US_ASCII).trim();
+                String stat = new String(Files.readAllBytes(Paths.get("/proc/" + pid + "/stat")), StandardCharsets.US_ASCII);
+
+                // process name in parentheses may contain spaces, fields after it start with field 3 (state)
+                String[] fields = stat.substring(stat.lastIndexOf(')') + 2).split(" ");
+                return fields.length > 19 ? bootId + ":" + fields[19] : null;
+            } catch (IOException | RuntimeException e) {
+                return null;
+            }
+        }
+
+        Optional<Object> handle = processHandle(pid);
+        if (handle == null || !handle.isPresent()) {
+            return null;
+        }
+
+        try {
+            Object info = Class.forName("java.lang.ProcessHandle").getMethod("info").invoke(handle.get());
+            Optional<?> startInstant = (Optional<?>) Class.forName("java.lang.ProcessHandle$Info").getMethod("startInstant").invoke(info);
+            return startInstant.map(x -> Long.toString(((Instant) x).toEpochMilli())).orElse(null);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return true when the process is running and it is the same process which had given start time
+     */
+    static boolean isAlive(long pid, String startTime) {
+        return startTime != null && isAlive(pid) && startTime.equals(getStartTime(pid));
+    }
+
+    /**
+     * Requests graceful termination of the process and kills it if it is still alive after timeout.
+     * Nothing is signalled unless the pid still belongs to the process which had given start time.
+     */
+    static void terminate(long pid, String startTime, long timeout, TimeUnit unit) throws Exception {
+        if (!isAlive(pid, startTime)) {
+            return;
+        }
+
+        if (SystemUtils.IS_OS_WINDOWS) {
+            new ProcessBuilder("taskkill", "/PID", Long.toString(pid), "/T", "/F").start().waitFor();
+            return;
+        }
+
+        new ProcessBuilder("kill", "-TERM", Long.toString(pid)).start().waitFor();
+
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (System.nanoTime() < deadline) {
+            if (!isAlive(pid, startTime)) {
+                return;
+            }
+
+            Thread.sleep(100);
+        }
+
+        if (!isAlive(pid, startTime)) {
+            return;
+        }
+
+        new ProcessBuilder("kill", "-KILL", Long.toString(pid)).start().waitFor();
+    }
+
+    /**
+     * @return handle wrapped in optional, or null when ProcessHandle is not available (Java 8)
+     */
+    @SuppressWarnings("unchecked")
+    private static Optional<Object> processHandle(long pid) {
+        try {
+            Class<?> processHandle = Class.forName("java.lang.ProcessHandle");
+            return (Optional<Object>) processHandle.getMethod("of", long.class).invoke(null, pid);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -6,7 +6,6 @@ import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.File;
-import java.lang.management.ManagementFactory;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -14,7 +13,20 @@ import java.util.List;
 
 class RavenServerRunner {
 
+    static final String DETACHED_OUTPUT_FILE_NAME = "server.out";
+
+    static File getDetachedOutputFile(ServerOptions options) {
+        return new File(options.getTargetServerLocation(), DETACHED_OUTPUT_FILE_NAME);
+    }
+
     public static Process run(ServerOptions options) {
+        return run(options, null);
+    }
+
+    /**
+     * @param serverUrlOverride Url server binds to instead of the one in options, options are not modified
+     */
+    static Process run(ServerOptions options, String serverUrlOverride) {
         if (StringUtils.isBlank(options.getTargetServerLocation())) {
             throw new IllegalArgumentException("targetServerLocation cannot be null or whitespace");
         }
@@ -40,7 +52,12 @@ class RavenServerRunner {
 
         List<String> commandLineArgs = new ArrayList<>();
 
-        commandLineArgs.add("--Embedded.ParentProcessId=" + getProcessId("0"));
+        if (options.runsDetached()) {
+            // detached server outlives this JVM and is stopped explicitly
+            commandLineArgs.add("--non-interactive");
+        } else {
+            commandLineArgs.add("--Embedded.ParentProcessId=" + Math.max(0, ProcessUtils.getCurrentPid()));
+        }
         commandLineArgs.add("--License.Eula.Accepted=" + (options.isAcceptEula() ? "true" : "false"));
         commandLineArgs.add("--Setup.Mode=None");
 
@@ -74,7 +91,7 @@ class RavenServerRunner {
             }
         }
 
-        commandLineArgs.add("--ServerUrl=" + options.getServerUrl());
+        commandLineArgs.add("--ServerUrl=" + ObjectUtils.firstNonNull(serverUrlOverride, options.getServerUrl()));
         commandLineArgs.add(0, CommandLineArgumentEscaper.escapeSingleArg(serverDllPath));
 
         if (StringUtils.isNotBlank(options.getFrameworkVersion())) {
@@ -87,6 +104,13 @@ class RavenServerRunner {
         commandLineArgs.add(0, options.getDotNetPath());
 
         ProcessBuilder processBuilder = new ProcessBuilder(commandLineArgs);
+
+        if (options.runsDetached()) {
+            // don't tie server output to pipes which are closed when this JVM exits
+            processBuilder.redirectErrorStream(true);
+            processBuilder.redirectOutput(ProcessBuilder.Redirect.appendTo(getDetachedOutputFile(options)));
+        }
+
         Process process;
         try {
             process = processBuilder.start();
@@ -105,20 +129,4 @@ class RavenServerRunner {
 
         return process;
     }
-
-    private static String getProcessId(final String fallback) {
-        final String jvmName = ManagementFactory.getRuntimeMXBean().getName();
-        final int index = jvmName.indexOf('@');
-
-        if (index < 1) {
-            return fallback;
-        }
-
-        try {
-            return Long.toString(Long.parseLong(jvmName.substring(0, index)));
-        } catch (NumberFormatException e) {
-            // ignore
-        }
-        return fallback;
-    }
 }
@@ -0,0 +1,191 @@
+package net.ravendb.embedded;
+
+import net.ravendb.client.documents.DocumentStore;
+import net.ravendb.client.documents.session.BeforeRequestEventArgs;
+import net.ravendb.client.documents.session.FailedRequestEventArgs;
+import net.ravendb.client.documents.session.SucceedRequestEventArgs;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+
+import java.util.List;
+
+/**
+ * Hooks request events of a document store and passes timed requests to observers.
+ * <p>
+ * Requests are executed synchronously on the calling thread, between the before and succeed/failed events,
+ * so the request in progress is tracked in a thread local context which is reused for all requests of the thread.
+ */
+class RequestInstrumentation {
+
+    interface Observer {
+
+        default void onRequestStart(RequestContext context) {
+        }
+
+        void onRequestComplete(RequestContext context);
+    }
+
+    private static final ThreadLocal<RequestContext> CONTEXT = ThreadLocal.withInitial(RequestContext::new);
+
+    private RequestInstrumentation() {
+    }
+
+    /**
+     * Has to be called before store is initialized, request executors copy listeners when they are created.
+     *
+     * @param database Database the store is bound to, or null to take it from the request url
+     */
+    static void attach(DocumentStore store, String database, List<Observer> observers) {
+        if (observers.isEmpty()) {
+            return;
+        }
+
+        Observer[] targets = observers.toArray(new Observer[0]);
+
+        store.addOnBeforeRequestListener((sender, event) -> onBefore(event, database, targets));
+        store.addOnSucceedRequestListener((sender, event) -> onSucceed(event, targets));
+        store.addOnFailedRequestListener((sender, event) -> onFailed(event, targets));
+    }
+
+    private static void onBefore(BeforeRequestEventArgs event, String database, Observer[] observers) {
+        RequestContext context = CONTEXT.get();
+        context.start(database, event.getRequest());
+
+        for (Observer observer : observers) {
+            observer.onRequestStart(context);
+        }
+    }
+
+    private static void onSucceed(SucceedRequestEventArgs event, Observer[] observers) {
+        RequestContext context = CONTEXT.get();
+        if (context.request != event.getRequest()) {
+            return;
+        }
+
+        context.complete(event.getResponse(), null);
+        notifyComplete(context, observers);
+    }
+
+    private static void onFailed(FailedRequestEventArgs event, Observer[] observers) {
+        RequestContext context = CONTEXT.get();
+        if (context.request == null || context.request != event.getRequest()) {
+            return;
+        }
+
+        context.complete(event.getResponse(), event.getException());
+        notifyComplete(context, observers);
+    }
+
+    private static void notifyComplete(RequestContext context, Observer[] observers) {
+        try {
+            for (Observer observer : observers) {
+                observer.onRequestComplete(context);
+            }
+        } finally {
+            context.clear();
+        }
+    }
+
+    /**
+     * Request in progress on the current thread. Instance is reused, observers must not keep references to it.
+     */
+    static class RequestContext {
+        private static final String DATABASES_PREFIX = "/databases/";
+
+        private String database;
+        private HttpUriRequest request;
+        private long startNanos;
+        private long durationNanos;
+        private HttpResponse response;
+        private Exception exception;
+
+        void start(String database, HttpUriRequest request) {
+            this.database = database != null ? database : getDatabase(request.getURI().getPath());
+            this.request = request;
+            this.startNanos = System.nanoTime();
+            this.durationNanos = -1;
+            this.response = null;
+            this.exception = null;
+        }
+
+        void complete(HttpResponse response, Exception exception) {
+            this.durationNanos = System.nanoTime() - startNanos;
+            this.response = response;
+            this.exception = exception;
+        }
+
+        void clear() {
+            database = null;
+            request = null;
+            response = null;
+            exception = null;
+        }
+
+        /**
+         * @return database the request was sent to, or null for server wide requests
+         */
+        String getDatabase() {
+            return database;
+        }
+
+        HttpUriRequest getRequest() {
+            return request;
+        }
+
+        long getDurationNanos() {
+            return durationNanos;
+        }
+
+        /**
+         * @return response, or null when request failed without response
+         */
+        HttpResponse getResponse() {
+            return response;
+        }
+
+        Exception getException() {
+            return exception;
+        }
+
+        boolean isFailed() {
+            return exception != null;
+        }
+
+        /**
+         * @return response size as reported by the server, or -1 when unknown (e.g. chunked response)
+         */
+        long getResponseBytes() {
+            HttpEntity entity = response != null ? response.getEntity() : null;
+            return entity != null ? entity.getContentLength() : -1;
+        }
+
+        /**
+         * @return HTTP method and endpoint path relative to the database, e.g. "POST /queries"
+         */
+        String getOperation() {
+            return getOperation(request.getMethod(), request.getURI().getRawPath());
+        }
+
+        static String getDatabase(String path) {
+            if (path == null || !path.startsWith(DATABASES_PREFIX)) {
+                return null;
+            }
+
+            int slash = path.indexOf('/', DATABASES_PREFIX.length());
+            String database = slash >= 0 ? path.substring(DATABASES_PREFIX.length(), slash) : path.substring(DATABASES_PREFIX.length());
+            return database.isEmpty() ? null : database;
+        }
+
+        static String getOperation(String method, String path) {
+            String endpoint = path != null ? path : "/";
+
+            if (endpoint.startsWith(DATABASES_PREFIX)) {
+                int slash = endpoint.indexOf('/', DATABASES_PREFIX.length());
+                endpoint = slash >= 0 ? endpoint.substring(slash) : "/";
+            }
+
+            return method + " " + endpoint;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package net.ravendb.embedded;
+
+import java.time.Duration;
+
+/**
+ * Snapshot of latencies and counts of requests of one type sent by document stores of a database,
+ * see {@link EmbeddedServer#getRequestStatistics(String)}.
+ */
+public class RequestStatistics {
+
+    private final String database;
+    private final String operation;
+    private final long requests;
+    private final long errors;
+    private final long responseBytes;
+    private final Duration meanLatency;
+    private final Duration p50Latency;
+    private final Duration p99Latency;
+    private final Duration p999Latency;
+    private final Duration maxLatency;
+
+    RequestStatistics(String database, String operation, long requests, long errors, long responseBytes,
+                      Duration meanLatency, Duration p50Latency, Duration p99Latency, Duration p999Latency,
+                      Duration maxLatency) {
+        this.database = database;
+        this.operation = operation;
+        this.requests = requests;
+        this.errors = errors;
+        this.responseBytes = responseBytes;
+        this.meanLatency = meanLatency;
+        this.p50Latency = p50Latency;
+        this.p99Latency = p99Latency;
+        this.p999Latency = p999Latency;
+        this.maxLatency = maxLatency;
+    }
+
+    public String getDatabase() {
+        return database;
+    }
+
+    /**
+     * @return HTTP method and endpoint relative to the database, e.g. "GET /docs" or "POST /queries"
+     */
+    public String getOperation() {
+        return operation;
+    }
+
+    /**
+     * @return Number of requests, including failed ones
+     */
+    public long getRequests() {
+        return requests;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * @return Total size of responses which reported their length (chunked responses are not counted)
+     */
+    public long getResponseBytes() {
+        return responseBytes;
+    }
+
+    public Duration getMeanLatency() {
+        return meanLatency;
+    }
+
+    public Duration getP50Latency() {
+        return p50Latency;
+    }
+
+    public Duration getP99Latency() {
+        return p99Latency;
+    }
+
+    public Duration getP999Latency() {
+        return p999Latency;
+    }
+
+    public Duration getMaxLatency() {
+        return maxLatency;
+    }
+
+    @Override
+    public String toString() {
+        return "RequestStatistics{" +
+                "database='" + database + '\'' +
+                ", operation='" + operation + '\'' +
+                ", requests=" + requests +
+                ", errors=" + errors +
+                ", responseBytes=" + responseBytes +
+                ", meanLatency=" + meanLatency +
+                ", p50Latency=" + p50Latency +
+                ", p99Latency=" + p99Latency +
+                ", p999Latency=" + p999Latency +
+                ", maxLatency=" + maxLatency +
+                '}';
+    }
+}
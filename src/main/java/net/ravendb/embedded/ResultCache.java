@@ -0,0 +1,301 @@
+package net.ravendb.embedded;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
+import net.ravendb.client.documents.IDocumentStore;
+import net.ravendb.client.documents.changes.DocumentChange;
+import net.ravendb.client.documents.changes.IDatabaseChanges;
+import net.ravendb.client.documents.changes.IObserver;
+import net.ravendb.client.documents.session.IDocumentSession;
+import net.ravendb.client.documents.session.QueryStatistics;
+import net.ravendb.client.exceptions.RavenException;
+import net.ravendb.client.primitives.CleanCloseable;
+import net.ravendb.client.primitives.EventHandler;
+import net.ravendb.client.primitives.Reference;
+import net.ravendb.client.primitives.VoidArgs;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Size bounded cache of document loads and query results of single database, kept in this JVM.
+ * <p>
+ * Results are kept serialized and every call returns a fresh copy, so returned entities can be modified freely.
+ * Cache is invalidated using server change notifications: changed document is dropped from the cache
+ * together with all cached query results. Whenever notifications connection is down, cache is bypassed.
+ * Query results are cached only when the index was up to date.
+ * Memory is capped by evicting least recently used entries, weighted by their serialized size.
+ */
+public class ResultCache implements CleanCloseable {
+
+    private static final Log logger = LogFactory.getLog(ResultCache.class);
+
+    private static final byte[] NULL_RESULT = new byte[0];
+
+    private final IDocumentStore store;
+    private final ObjectMapper mapper;
+
+    private final Cache<String, CachedDocument> documents;
+    private final Cache<QueryKey, byte[]> queries;
+
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong sizeInBytes = new AtomicLong();
+    private final LongAdder evictions = new LongAdder();
+
+    private final IDatabaseChanges changes;
+    private final CleanCloseable subscription;
+    private final EventHandler<VoidArgs> connectionStatusChanged;
+    private final Consumer<Exception> changesError;
+
+    ResultCache(IDocumentStore store, long maxSizeInBytes) {
+        if (maxSizeInBytes <= 0) {
+            throw new IllegalArgumentException("maxSizeInBytes must be positive");
+        }
+
+        this.store = store;
+        this.mapper = store.getConventions().getEntityMapper();
+
+        // query results are invalidated much more often than documents, so each gets its own half
+        long maxWeight = Math.max(1, maxSizeInBytes / 2);
+
+        this.documents = CacheBuilder.newBuilder()
+                .maximumWeight(maxWeight)
+                .<String, CachedDocument>weigher((id, document) -> weigh(id, document.json))
+                .removalListener((RemovalNotification<String, CachedDocument> n) -> onRemoval(n.getCause(), weigh(n.getKey(), n.getValue().json)))
+                .recordStats()
+                .build();
+
+        this.queries = CacheBuilder.newBuilder()
+                .maximumWeight(maxWeight)
+                .<QueryKey, byte[]>weigher((query, json) -> weigh(query.query, json))
+                .removalListener((RemovalNotification<QueryKey, byte[]> n) -> onRemoval(n.getCause(), weigh(n.getKey().query, n.getValue())))
+                .recordStats()
+                .build();
+
+        changes = store.changes();
+
+        connectionStatusChanged = (sender, event) -> clear();
+        changesError = e -> clear();
+
+        changes.addConnectionStatusChanged(connectionStatusChanged);
+        changes.addOnError(changesError);
+
+        subscription = changes.forAllDocuments().subscribe(new IObserver<DocumentChange>() {
+            @Override
+            public void onNext(DocumentChange change) {
+                invalidate(change.getId());
+            }
+
+            @Override
+            public void onError(Exception error) {
+                clear();
+            }
+
+            @Override
+            public void onCompleted() {
+                clear();
+            }
+        });
+
+        try {
+            changes.ensureConnectedNow();
+        } catch (Exception e) {
+            logger.warn("Unable to connect to changes of database '" + store.getDatabase() + "', result cache will be bypassed until connected.", e);
+        }
+    }
+
+    /**
+     * Loads document from cache, or from the server when it is not cached.
+     */
+    public <T> T load(Class<T> clazz, String id) {
+        if (id == null) {
+            throw new IllegalArgumentException("id cannot be null");
+        }
+
+        String key = id.toLowerCase();
+
+        if (changes.isConnected()) {
+            CachedDocument cached = documents.getIfPresent(key);
+            if (cached != null && cached.type == clazz) {
+                return read(cached.json, mapper.getTypeFactory().constructType(clazz));
+            }
+        }
+
+        long currentGeneration = generation.get();
+
+        T entity;
+        try (IDocumentSession session = store.openSession()) {
+            entity = session.load(clazz, id);
+        }
+
+        byte[] json = write(entity);
+        if (changes.isConnected() && generation.get() == currentGeneration) {
+            sizeInBytes.addAndGet(weigh(key, json));
+            documents.put(key, new CachedDocument(clazz, json));
+
+            if (generation.get() != currentGeneration) {
+                // change notification arrived while storing the result
+                documents.invalidate(key);
+            }
+        }
+
+        return read(json, mapper.getTypeFactory().constructType(clazz));
+    }
+
+    /**
+     * Runs RQL query, or returns its cached results. Results of stale indexes are returned, but not cached.
+     */
+    public <T> List<T> query(Class<T> clazz, String query) {
+        if (query == null) {
+            throw new IllegalArgumentException("query cannot be null");
+        }
+
+        QueryKey key = new QueryKey(clazz, query);
+        JavaType type = mapper.getTypeFactory().constructCollectionType(List.class, clazz);
+
+        if (changes.isConnected()) {
+            byte[] cached = queries.getIfPresent(key);
+            if (cached != null) {
+                return read(cached, type);
+            }
+        }
+
+        long currentGeneration = generation.get();
+
+        List<T> results;
+        Reference<QueryStatistics> statistics = new Reference<>();
+        try (IDocumentSession session = store.openSession()) {
+            results = session.advanced().rawQuery(clazz, query)
+                    .statistics(statistics)
+                    .toList();
+        }
+
+        byte[] json = write(results);
+
+        // stale index results would not be invalidated once indexing catches up
+        boolean stale = statistics.value != null && statistics.value.isStale();
+
+        if (!stale && changes.isConnected() && generation.get() == currentGeneration) {
+            sizeInBytes.addAndGet(weigh(query, json));
+            queries.put(key, json);
+
+            if (generation.get() != currentGeneration) {
+                // change notification arrived while storing the result
+                queries.invalidate(key);
+            }
+        }
+
+        return read(json, type);
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        documents.invalidateAll();
+        queries.invalidateAll();
+    }
+
+    public ResultCacheStatistics getStatistics() {
+        CacheStats stats = documents.stats().plus(queries.stats());
+        return new ResultCacheStatistics(stats.hitCount(), stats.missCount(), evictions.sum(),
+                documents.size() + queries.size(), sizeInBytes.get());
+    }
+
+    @Override
+    public void close() {
+        subscription.close();
+        changes.removeConnectionStatusChanged(connectionStatusChanged);
+        changes.removeOnError(changesError);
+        clear();
+    }
+
+    private void invalidate(String id) {
+        generation.incrementAndGet();
+
+        if (id != null) {
+            documents.invalidate(id.toLowerCase());
+        }
+        queries.invalidateAll();
+    }
+
+    private void onRemoval(RemovalCause cause, long weight) {
+        sizeInBytes.addAndGet(-weight);
+        if (cause == RemovalCause.SIZE) {
+            evictions.increment();
+        }
+    }
+
+    private static int weigh(String key, byte[] json) {
+        return key.length() * 2 + json.length;
+    }
+
+    private byte[] write(Object value) {
+        if (value == null) {
+            return NULL_RESULT;
+        }
+
+        try {
+            return mapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new RavenException("Unable to serialize result: " + e.getMessage(), e);
+        }
+    }
+
+    private <T> T read(byte[] json, JavaType type) {
+        if (json.length == 0) {
+            return null;
+        }
+
+        try {
+            return mapper.readValue(json, type);
+        } catch (IOException e) {
+            throw new RavenException("Unable to deserialize cached result: " + e.getMessage(), e);
+        }
+    }
+
+    private static class CachedDocument {
+        private final Class<?> type;
+        private final byte[] json;
+
+        CachedDocument(Class<?> type, byte[] json) {
+            this.type = type;
+            this.json = json;
+        }
+    }
+
+    private static class QueryKey {
+        private final Class<?> type;
+        private final String query;
+
+        QueryKey(Class<?> type, String query) {
+            this.type = type;
+            this.query = query;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            QueryKey queryKey = (QueryKey) o;
+            return type == queryKey.type && query.equals(queryKey.query);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * type.hashCode() + query.hashCode();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package net.ravendb.embedded;
+
+/**
+ * Snapshot of counters of {@link ResultCache}
+ */
+public class ResultCacheStatistics {
+
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long entries;
+    private final long sizeInBytes;
+
+    ResultCacheStatistics(long hits, long misses, long evictions, long entries, long sizeInBytes) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.entries = entries;
+        this.sizeInBytes = sizeInBytes;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return Ratio of requests served from cache, NaN if there were no requests yet
+     */
+    public double getHitRatio() {
+        long requests = hits + misses;
+        return requests == 0 ? Double.NaN : (double) hits / requests;
+    }
+
+    /**
+     * @return Number of entries evicted because cache exceeded its size
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getEntries() {
+        return entries;
+    }
+
+    /**
+     * @return Size of cached serialized results
+     */
+    public long getSizeInBytes() {
+        return sizeInBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "ResultCacheStatistics{" +
+                "hits=" + hits +
+                ", misses=" + misses +
+                ", evictions=" + evictions +
+                ", entries=" + entries +
+                ", sizeInBytes=" + sizeInBytes +
+                '}';
+    }
+}
@@ -0,0 +1,104 @@
+package net.ravendb.embedded;
+
+import net.ravendb.client.exceptions.RavenException;
+
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocketFactory;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Minimal HTTP client used for talking to the embedded server outside of document stores
+ * (health checks etc.). In secured mode it authenticates using the client certificate from {@link SecurityOptions}.
+ * <p>
+ * SSL context is built once and shared by all connections, so its session cache allows resuming
+ * TLS sessions instead of doing full handshake for each connection. Document stores are not covered,
+ * RavenDB client builds its own HTTP client from the certificate.
+ */
+class ServerHttpClient {
+
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(5);
+
+    private static final int SESSION_CACHE_SIZE = 128;
+    private static final int SESSION_TIMEOUT_SECONDS = (int) TimeUnit.HOURS.toSeconds(1);
+
+    private final SSLSocketFactory socketFactory;
+
+    ServerHttpClient(SecurityOptions security) {
+        this.socketFactory = security != null ? createSslContext(security).getSocketFactory() : null;
+    }
+
+    /**
+     * @return true if server responds on given url
+     */
+    boolean isHealthy(String serverUrl) {
+        try {
+            HttpURLConnection connection = open(serverUrl + "/build/version", DEFAULT_TIMEOUT);
+            try {
+                return connection.getResponseCode() == HttpURLConnection.HTTP_OK;
+            } finally {
+                drain(connection);
+            }
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    HttpURLConnection open(String url, Duration timeout) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setConnectTimeout((int) timeout.toMillis());
+        connection.setReadTimeout((int) timeout.toMillis());
+
+        if (connection instanceof HttpsURLConnection && socketFactory != null) {
+            HttpsURLConnection https = (HttpsURLConnection) connection;
+            https.setSSLSocketFactory(socketFactory);
+            // we talk only to the server we started, the certificate chain is still validated
+            https.setHostnameVerifier((hostname, session) -> true);
+        }
+
+        return connection;
+    }
+
+    static void drain(HttpURLConnection connection) {
+        try {
+            InputStream stream = connection.getResponseCode() < 400 ? connection.getInputStream() : connection.getErrorStream();
+            if (stream != null) {
+                try (InputStream s = stream) {
+                    byte[] buffer = new byte[1024];
+                    //noinspection StatementWithEmptyBody
+                    while (s.read(buffer) != -1) {
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // ignore
+        }
+    }
+
+    private static SSLContext createSslContext(SecurityOptions security) {
+        try {
+            char[] password = security.getCertificatePassword() != null ? security.getCertificatePassword() : new char[0];
+
+            KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+            keyManagerFactory.init(security.getClientCertificate(), password);
+
+            TrustManagerFactory trustManagerFactory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+            trustManagerFactory.init(security.getTrustStore());
+
+            SSLContext context = SSLContext.getInstance("TLS");
+            context.init(keyManagerFactory.getKeyManagers(), trustManagerFactory.getTrustManagers(), null);
+            context.getClientSessionContext().setSessionCacheSize(SESSION_CACHE_SIZE);
+            context.getClientSessionContext().setSessionTimeout(SESSION_TIMEOUT_SECONDS);
+            return context;
+        } catch (Exception e) {
+            throw new RavenException("Unable to create SSL context: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package net.ravendb.embedded;
+
+/**
+ * Progress of import executed by the server, see {@link EmbeddedServer#importFromPath(String, String, java.util.function.Consumer)}
+ */
+public class ServerImportProgress {
+
+    private final int files;
+    private final int completedFiles;
+    private final String currentFile;
+    private final long documentsRead;
+
+    ServerImportProgress(int files, int completedFiles, String currentFile, long documentsRead) {
+        this.files = files;
+        this.completedFiles = completedFiles;
+        this.currentFile = currentFile;
+        this.documentsRead = documentsRead;
+    }
+
+    /**
+     * @return Number of dump files to import
+     */
+    public int getFiles() {
+        return files;
+    }
+
+    public int getCompletedFiles() {
+        return completedFiles;
+    }
+
+    /**
+     * @return Dump file being imported, null when import completed
+     */
+    public String getCurrentFile() {
+        return currentFile;
+    }
+
+    /**
+     * @return Number of documents read from all dump files so far
+     */
+    public long getDocumentsRead() {
+        return documentsRead;
+    }
+
+    @Override
+    public String toString() {
+        return "ServerImportProgress{" +
+                "files=" + files +
+                ", completedFiles=" + completedFiles +
+                ", currentFile='" + currentFile + '\'' +
+                ", documentsRead=" + documentsRead +
+                '}';
+    }
+}
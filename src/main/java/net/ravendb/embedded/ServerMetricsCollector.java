@@ -0,0 +1,251 @@
+package net.ravendb.embedded;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Periodically reads server and per-database statistics from the monitoring endpoints of the server and
+ * publishes every numeric value as a gauge (or a counter for cumulative totals) in {@link MetricsRegistry}.
+ * <p>
+ * Responses are parsed in a streaming fashion and metric handles are cached by JSON path, using field names
+ * canonicalized by the parser, so a scrape allocates little beyond the HTTP request itself.
+ */
+class ServerMetricsCollector {
+
+    private static final Log logger = LogFactory.getLog(ServerMetricsCollector.class);
+
+    private static final String SERVER_ENDPOINT = "/admin/monitoring/v1/server";
+    private static final String DATABASES_ENDPOINT = "/admin/monitoring/v1/databases";
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    // cumulative values, the rest are gauges
+    private static final Set<String> COUNTER_FIELDS = new HashSet<>(Arrays.asList("TotalRequests", "RequestsCount"));
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    private final ServerHttpClient httpClient;
+    private final Supplier<String> serverUrl;
+    private final MetricsRegistry registry;
+    private final Duration interval;
+
+    private final MetricNode serverMetrics;
+    private final Map<String, MetricNode> databaseMetrics = new HashMap<>();
+
+    private ScheduledExecutorService executor;
+    private boolean failureLogged;
+
+    ServerMetricsCollector(ServerHttpClient httpClient, Supplier<String> serverUrl, MetricsRegistry registry, Duration interval) {
+        if (interval == null || interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("metricsCollectionInterval must be positive");
+        }
+
+        this.httpClient = httpClient;
+        this.serverUrl = serverUrl;
+        this.registry = registry;
+        this.interval = interval;
+        this.serverMetrics = new MetricNode("ravendb.server", Collections.emptyMap());
+    }
+
+    void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "RavenDB-Embedded-Metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        executor.scheduleWithFixedDelay(this::scrapeSafely, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void scrapeSafely() {
+        try {
+            scrape();
+        } catch (Exception e) {
+            // server might be restarting, don't flood the log
+            if (!failureLogged) {
+                failureLogged = true;
+                logger.warn("Unable to collect server metrics: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    synchronized void scrape() throws IOException {
+        String url = serverUrl.get();
+
+        read(url + SERVER_ENDPOINT, parser -> readObject(parser, serverMetrics));
+        read(url + DATABASES_ENDPOINT, this::readDatabases);
+
+        failureLogged = false;
+    }
+
+    private void read(String url, JsonReader reader) throws IOException {
+        HttpURLConnection connection = httpClient.open(url, REQUEST_TIMEOUT);
+
+        int status = connection.getResponseCode();
+        if (status >= 400) {
+            ServerHttpClient.drain(connection);
+            throw new IOException("Server responded with " + status + " to " + url);
+        }
+
+        // stream is closed without disconnecting, so the connection is kept alive for the next scrape
+        try (InputStream stream = connection.getInputStream();
+             JsonParser parser = jsonFactory.createParser(stream)) {
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                reader.read(parser);
+            }
+        }
+    }
+
+    private void readObject(JsonParser parser, MetricNode node) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+
+            switch (parser.nextToken()) {
+                case START_OBJECT:
+                    readObject(parser, node.child(field));
+                    break;
+                case VALUE_NUMBER_INT:
+                case VALUE_NUMBER_FLOAT:
+                    node.child(field).record(parser);
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * { "Results": [ { "DatabaseName": "...", ... }, ... ] }
+     */
+    private void readDatabases(JsonParser parser) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            if (!"Results".equals(parser.getCurrentName()) || parser.nextToken() != JsonToken.START_ARRAY) {
+                parser.nextToken();
+                parser.skipChildren();
+                continue;
+            }
+
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                readDatabase(parser);
+            }
+        }
+    }
+
+    private void readDatabase(JsonParser parser) throws IOException {
+        MetricNode node = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+
+            if ("DatabaseName".equals(field) && token == JsonToken.VALUE_STRING) {
+                node = databaseMetrics.computeIfAbsent(parser.getText(),
+                        name -> new MetricNode("ravendb.database", Collections.singletonMap("database", name)));
+            } else if (node == null) {
+                // server writes database name first
+                parser.skipChildren();
+            } else if (token == JsonToken.START_OBJECT) {
+                readObject(parser, node.child(field));
+            } else if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+                node.child(field).record(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    static String toMetricName(String field) {
+        StringBuilder sb = new StringBuilder(field.length() + 4);
+
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (Character.isUpperCase(c) && i > 0) {
+                char previous = field.charAt(i - 1);
+                boolean nextIsLower = i + 1 < field.length() && Character.isLowerCase(field.charAt(i + 1));
+                if (!Character.isUpperCase(previous) || nextIsLower) {
+                    sb.append('_');
+                }
+            }
+            sb.append(Character.toLowerCase(c));
+        }
+
+        return sb.toString();
+    }
+
+    @FunctionalInterface
+    private interface JsonReader {
+        void read(JsonParser parser) throws IOException;
+    }
+
+    private class MetricNode {
+        private final String name;
+        private final Map<String, String> tags;
+        private final Map<String, MetricNode> children = new HashMap<>();
+
+        private MetricsRegistry.Gauge gauge;
+        private MetricsRegistry.Counter counter;
+        private long lastCounterValue;
+
+        MetricNode(String name, Map<String, String> tags) {
+            this.name = name;
+            this.tags = tags;
+        }
+
+        MetricNode child(String field) {
+            MetricNode child = children.get(field);
+            if (child == null) {
+                child = new MetricNode(name + "." + toMetricName(field), tags);
+                if (COUNTER_FIELDS.contains(field)) {
+                    child.counter = registry.counter(child.name, tags);
+                }
+                children.put(field, child);
+            }
+
+            return child;
+        }
+
+        void record(JsonParser parser) throws IOException {
+            if (counter != null) {
+                long value = parser.getValueAsLong();
+                // a value lower than the last one means server was restarted
+                long delta = value >= lastCounterValue ? value - lastCounterValue : value;
+                lastCounterValue = value;
+
+                if (delta > 0) {
+                    counter.increment(delta);
+                }
+                return;
+            }
+
+            if (gauge == null) {
+                gauge = registry.gauge(name, tags);
+            }
+
+            gauge.set(parser.getValueAsDouble());
+        }
+    }
+}
@@ -38,6 +38,24 @@ public class ServerOptions {
     private Duration gracefulShutdownTimeout = Duration.ofSeconds(30);
     private Duration maxServerStartupTimeDuration = Duration.ofMinutes(1);
     private List<String> commandLineArgs = new ArrayList<>();
+    private boolean restartOnFailure = false;
+    private boolean detached = false;
+    private boolean shared = false;
+    private String sharedServerDirectory = Paths.get(System.getProperty("java.io.tmpdir"), "ravendb-embedded-shared").toString();
+    private Duration sharedLeaseTimeout = Duration.ofSeconds(30);
+    private String databaseNamePrefix;
+    private Duration documentStoreIdleTimeout;
+    private int maxDocumentStores;
+    private int maxRestartAttempts = 10;
+    private Duration restartBackoff = Duration.ofSeconds(1);
+    private Duration maxRestartBackoff = Duration.ofMinutes(1);
+    private boolean jmxEnabled = true;
+    private MetricsRegistry metricsRegistry;
+    private boolean requestMetricsEnabled = true;
+    private TraceExporter traceExporter;
+    private Duration slowRequestThreshold;
+    private int slowRequestCapacity = 100;
+    private Duration metricsCollectionInterval = Duration.ofSeconds(15);
 
     static ServerOptions INSTANCE = new ServerOptions();
 
@@ -183,6 +201,10 @@ public class ServerOptions {
         return serverUrl;
     }
 
+    /**
+     * @param serverUrl Url server binds to. Only http and https are supported, as the Java client
+     *                  does not support other transports (e.g. unix domain sockets).
+     */
     public void setServerUrl(String serverUrl) {
         this.serverUrl = serverUrl;
     }
@@ -238,4 +260,240 @@ public class ServerOptions {
     public void setClearTargetServerLocation(boolean clearTargetServerLocation) {
         this.clearTargetServerLocation = clearTargetServerLocation;
     }
+
+    public boolean isRestartOnFailure() {
+        return restartOnFailure;
+    }
+
+    /**
+     * When enabled, server process is restarted (on the same url and data directory) whenever it exits unexpectedly.
+     *
+     * @param restartOnFailure restart server process after crash
+     */
+    public void setRestartOnFailure(boolean restartOnFailure) {
+        this.restartOnFailure = restartOnFailure;
+    }
+
+    public int getMaxRestartAttempts() {
+        return maxRestartAttempts;
+    }
+
+    /**
+     * @param maxRestartAttempts Number of consecutive failed restart attempts after which supervisor gives up
+     */
+    public void setMaxRestartAttempts(int maxRestartAttempts) {
+        this.maxRestartAttempts = maxRestartAttempts;
+    }
+
+    public Duration getRestartBackoff() {
+        return restartBackoff;
+    }
+
+    /**
+     * @param restartBackoff Delay before the second restart attempt. Doubled after each failed attempt.
+     */
+    public void setRestartBackoff(Duration restartBackoff) {
+        this.restartBackoff = restartBackoff;
+    }
+
+    public Duration getMaxRestartBackoff() {
+        return maxRestartBackoff;
+    }
+
+    public void setMaxRestartBackoff(Duration maxRestartBackoff) {
+        this.maxRestartBackoff = maxRestartBackoff;
+    }
+
+    public boolean isDetached() {
+        return detached;
+    }
+
+    /**
+     * In detached mode server process is not tied to this JVM and keeps running after it exits.
+     * Server pid, url and options fingerprint are stored in target server location, so the next
+     * startServer with the same options reattaches to the running server instead of spawning a new one.
+     * Use {@link EmbeddedServer#shutdownDetachedServer()} to stop it.
+     *
+     * @param detached run server in detached mode
+     */
+    public void setDetached(boolean detached) {
+        this.detached = detached;
+    }
+
+    public boolean isShared() {
+        return shared;
+    }
+
+    /**
+     * In shared mode all JVMs on the host using the same shared server directory use a single server.
+     * First participant starts it (in detached mode), others join it, and the last one to close stops it.
+     * Participants have to set {@link #setDatabaseNamePrefix(String)}, which keeps their databases apart
+     * and stays the same across restarts.
+     * <p>
+     * When the last participant crashes, the server keeps running. Its lease expires, and the next participant
+     * which joins reuses the server (or replaces it, when options differ) and stops it once it closes.
+     *
+     * @param shared use host-wide shared server
+     */
+    public void setShared(boolean shared) {
+        this.shared = shared;
+    }
+
+    public String getSharedServerDirectory() {
+        return sharedServerDirectory;
+    }
+
+    /**
+     * @param sharedServerDirectory Directory where shared server registers itself and participants keep their leases
+     */
+    public void setSharedServerDirectory(String sharedServerDirectory) {
+        this.sharedServerDirectory = sharedServerDirectory;
+    }
+
+    public Duration getSharedLeaseTimeout() {
+        return sharedLeaseTimeout;
+    }
+
+    /**
+     * @param sharedLeaseTimeout Time after which lease of a participant which stopped sending heartbeats expires
+     */
+    public void setSharedLeaseTimeout(Duration sharedLeaseTimeout) {
+        this.sharedLeaseTimeout = sharedLeaseTimeout;
+    }
+
+    public String getDatabaseNamePrefix() {
+        return databaseNamePrefix;
+    }
+
+    /**
+     * Required in shared mode, where it should identify the application (e.g. its name), so it gets the same databases
+     * after restart. Set it to an empty string to use unprefixed database names, which are then visible to all participants.
+     *
+     * @param databaseNamePrefix Prefix added to names of all databases used through this server
+     */
+    public void setDatabaseNamePrefix(String databaseNamePrefix) {
+        this.databaseNamePrefix = databaseNamePrefix;
+    }
+
+    public Duration getDocumentStoreIdleTimeout() {
+        return documentStoreIdleTimeout;
+    }
+
+    /**
+     * Document stores created by {@link EmbeddedServer#getDocumentStore(DatabaseOptions)} which weren't requested
+     * for longer than this timeout are closed. They are recreated on next access. Null disables idle eviction.
+     *
+     * @param documentStoreIdleTimeout idle time after which store is closed
+     */
+    public void setDocumentStoreIdleTimeout(Duration documentStoreIdleTimeout) {
+        this.documentStoreIdleTimeout = documentStoreIdleTimeout;
+    }
+
+    public int getMaxDocumentStores() {
+        return maxDocumentStores;
+    }
+
+    /**
+     * Maximum number of cached document stores. When exceeded, least recently used stores are closed.
+     * Zero means no limit.
+     *
+     * @param maxDocumentStores maximum number of open document stores
+     */
+    public void setMaxDocumentStores(int maxDocumentStores) {
+        this.maxDocumentStores = maxDocumentStores;
+    }
+
+    public boolean isJmxEnabled() {
+        return jmxEnabled;
+    }
+
+    /**
+     * When enabled, {@link EmbeddedServerMXBean} reporting resource usage of the server process
+     * is registered in the platform MBean server while the server is running.
+     *
+     * @param jmxEnabled register server MBean
+     */
+    public void setJmxEnabled(boolean jmxEnabled) {
+        this.jmxEnabled = jmxEnabled;
+    }
+
+    public MetricsRegistry getMetricsRegistry() {
+        return metricsRegistry;
+    }
+
+    /**
+     * When set, server statistics (requests, memory, storage, indexing, per-database counts) are periodically
+     * read from the server's monitoring endpoints and published to this registry. Admin client certificate
+     * is used when server is secured.
+     *
+     * @param metricsRegistry registry metrics are published to, null disables collection
+     */
+    public void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    public Duration getMetricsCollectionInterval() {
+        return metricsCollectionInterval;
+    }
+
+    public void setMetricsCollectionInterval(Duration metricsCollectionInterval) {
+        this.metricsCollectionInterval = metricsCollectionInterval;
+    }
+
+    public boolean isRequestMetricsEnabled() {
+        return requestMetricsEnabled;
+    }
+
+    /**
+     * When enabled, latencies, counts and response sizes of requests sent by document stores are recorded
+     * per database and request type, see {@link EmbeddedServer#getRequestStatistics(String)}.
+     *
+     * @param requestMetricsEnabled record request statistics
+     */
+    public void setRequestMetricsEnabled(boolean requestMetricsEnabled) {
+        this.requestMetricsEnabled = requestMetricsEnabled;
+    }
+
+    public TraceExporter getTraceExporter() {
+        return traceExporter;
+    }
+
+    /**
+     * When set, spans are emitted for server startup phases and for every request sent by document stores
+     * of this server. Requests carry W3C traceparent header of their span.
+     *
+     * @param traceExporter exporter spans are handed to, null disables tracing
+     */
+    public void setTraceExporter(TraceExporter traceExporter) {
+        this.traceExporter = traceExporter;
+    }
+
+    public Duration getSlowRequestThreshold() {
+        return slowRequestThreshold;
+    }
+
+    /**
+     * Requests sent by document stores which take longer than this threshold are kept in memory,
+     * see {@link EmbeddedServer#getSlowRequests()}. Null disables tracking.
+     *
+     * @param slowRequestThreshold duration above which request is considered slow
+     */
+    public void setSlowRequestThreshold(Duration slowRequestThreshold) {
+        this.slowRequestThreshold = slowRequestThreshold;
+    }
+
+    public int getSlowRequestCapacity() {
+        return slowRequestCapacity;
+    }
+
+    /**
+     * @param slowRequestCapacity Number of most recent slow requests which are kept
+     */
+    public void setSlowRequestCapacity(int slowRequestCapacity) {
+        this.slowRequestCapacity = slowRequestCapacity;
+    }
+
+    boolean runsDetached() {
+        return detached || shared;
+    }
 }
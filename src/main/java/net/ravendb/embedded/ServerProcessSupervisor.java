@@ -0,0 +1,153 @@
+package net.ravendb.embedded;
+
+import net.ravendb.client.documents.Lazy;
+import net.ravendb.client.primitives.CleanCloseable;
+import net.ravendb.client.primitives.Tuple;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Watches server process and restarts it (with backoff) when it exits unexpectedly.
+ * <p>
+ * While restart is in progress, server task is replaced with one which blocks until new process is available,
+ * so callers of {@link EmbeddedServer#getServerUri()} wait for the restart instead of getting a stale url.
+ */
+class ServerProcessSupervisor implements CleanCloseable {
+
+    private static final Log logger = LogFactory.getLog(ServerProcessSupervisor.class);
+
+    private final ServerOptions options;
+    private final AtomicReference<Lazy<Tuple<String, Process>>> serverTask;
+    private final BiFunction<ServerOptions, String, Tuple<String, Process>> startProcess;
+    private final Consumer<Process> shutdownProcess;
+
+    private final AtomicInteger restartCount = new AtomicInteger();
+    private final AtomicLong downtimeNanos = new AtomicLong();
+    private final Thread thread;
+
+    private volatile boolean closed;
+
+    ServerProcessSupervisor(ServerOptions options,
+                            AtomicReference<Lazy<Tuple<String, Process>>> serverTask,
+                            BiFunction<ServerOptions, String, Tuple<String, Process>> startProcess,
+                            Consumer<Process> shutdownProcess) {
+        this.options = options;
+        this.serverTask = serverTask;
+        this.startProcess = startProcess;
+        this.shutdownProcess = shutdownProcess;
+
+        thread = new Thread(this::run, "RavenDB-Embedded-Supervisor");
+        thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    int getRestartCount() {
+        return restartCount.get();
+    }
+
+    Duration getDowntime() {
+        return Duration.ofNanos(downtimeNanos.get());
+    }
+
+    private void run() {
+        Lazy<Tuple<String, Process>> current = serverTask.get();
+
+        while (!closed && current != null) {
+            Tuple<String, Process> server = current.getValue();
+
+            int exitCode;
+            try {
+                exitCode = server.second.waitFor();
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            if (closed) {
+                return;
+            }
+
+            logger.warn("RavenDB server process exited unexpectedly with code " + exitCode + ". Restarting.");
+
+            current = restart(current, server.first);
+        }
+    }
+
+    private Lazy<Tuple<String, Process>> restart(Lazy<Tuple<String, Process>> crashed, String serverUrl) {
+        long downtimeStart = System.nanoTime();
+
+        CompletableFuture<Tuple<String, Process>> restarted = new CompletableFuture<>();
+        Lazy<Tuple<String, Process>> restarting = new Lazy<>(restarted::join);
+
+        if (!serverTask.compareAndSet(crashed, restarting)) {
+            // server was closed in the meantime
+            return null;
+        }
+
+        Duration backoff = options.getRestartBackoff();
+
+        for (int attempt = 1; ; attempt++) {
+            if (closed) {
+                restarted.completeExceptionally(new IllegalStateException("The server was closed"));
+                return null;
+            }
+
+            try {
+                // reuse port from the previous run, so existing document stores can reconnect;
+                // options are shared with the caller (possibly ServerOptions.INSTANCE) and stay untouched
+                Tuple<String, Process> server = startProcess.apply(options, serverUrl);
+
+                if (closed) {
+                    shutdownProcess.accept(server.second);
+                    restarted.completeExceptionally(new IllegalStateException("The server was closed"));
+                    return null;
+                }
+
+                restartCount.incrementAndGet();
+                downtimeNanos.addAndGet(System.nanoTime() - downtimeStart);
+
+                if (logger.isInfoEnabled()) {
+                    logger.info("RavenDB server restarted on " + server.first + " after " + attempt + " attempt(s).");
+                }
+
+                restarted.complete(server);
+                return restarting;
+            } catch (Exception e) {
+                if (attempt >= options.getMaxRestartAttempts()) {
+                    logger.error("Unable to restart RavenDB server after " + attempt + " attempts. Giving up.", e);
+                    restarted.completeExceptionally(
+                            new IllegalStateException("Unable to restart RavenDB server after " + attempt + " attempts", e));
+                    return null;
+                }
+
+                logger.warn("Failed to restart RavenDB server (attempt " + attempt + "). Retrying in " + backoff + ".", e);
+            }
+
+            try {
+                Thread.sleep(backoff.toMillis());
+            } catch (InterruptedException e) {
+                restarted.completeExceptionally(new IllegalStateException("The server was closed"));
+                return null;
+            }
+
+            Duration doubled = backoff.multipliedBy(2);
+            backoff = doubled.compareTo(options.getMaxRestartBackoff()) > 0 ? options.getMaxRestartBackoff() : doubled;
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        thread.interrupt();
+    }
+}
@@ -0,0 +1,149 @@
+package net.ravendb.embedded;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.ravendb.client.exceptions.RavenException;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.HttpURLConnection;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Imports dump files by handing their local paths to the server. Server reads the files directly from disk,
+ * so no data goes through this JVM. Progress is read from the state of server operation.
+ */
+class ServerSideImporter {
+
+    private static final Log logger = LogFactory.getLog(ServerSideImporter.class);
+
+    private static final long PROGRESS_INTERVAL_MILLIS = 500;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "RavenDB-Embedded-Server-Import");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ServerHttpClient httpClient;
+    private final String databaseUrl;
+
+    ServerSideImporter(ServerHttpClient httpClient, String serverUrl, String databaseName) {
+        this.httpClient = httpClient;
+        this.databaseUrl = serverUrl + "/databases/" + encode(databaseName);
+    }
+
+    CompletableFuture<Void> importAsync(List<File> files, Consumer<ServerImportProgress> progressListener) {
+        return CompletableFuture.runAsync(() -> {
+            long documentsRead = 0;
+
+            for (int i = 0; i < files.size(); i++) {
+                File file = files.get(i);
+                int completedFiles = i;
+                long documentsReadBefore = documentsRead;
+
+                if (logger.isInfoEnabled()) {
+                    logger.info("Server is importing " + file + ".");
+                }
+
+                documentsRead += importFile(file, read -> progressListener.accept(new ServerImportProgress(
+                        files.size(), completedFiles, file.getAbsolutePath(), documentsReadBefore + read)));
+            }
+
+            progressListener.accept(new ServerImportProgress(files.size(), files.size(), null, documentsRead));
+        }, EXECUTOR);
+    }
+
+    /**
+     * @return number of documents read from the file
+     */
+    private long importFile(File file, Consumer<Long> progressListener) {
+        long operationId = getNextOperationId();
+
+        String url = databaseUrl + "/admin/smuggler/import?file=" + encode(file.getAbsolutePath())
+                + "&operationId=" + operationId;
+
+        // request returns once import is completed
+        CompletableFuture<Void> request = CompletableFuture.runAsync(() -> send(url, Duration.ZERO), EXECUTOR);
+
+        long documentsRead = 0;
+        while (true) {
+            try {
+                request.get(PROGRESS_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                break;
+            } catch (TimeoutException e) {
+                documentsRead = Math.max(documentsRead, getDocumentsRead(operationId));
+                progressListener.accept(documentsRead);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RavenException("Import of " + file + " was interrupted", e);
+            } catch (ExecutionException e) {
+                throw new RavenException("Import of " + file + " failed: " + e.getCause().getMessage(), e.getCause());
+            }
+        }
+
+        return Math.max(documentsRead, getDocumentsRead(operationId));
+    }
+
+    private long getNextOperationId() {
+        JsonNode result = send(databaseUrl + "/operations/next-operation-id", Duration.ofSeconds(30));
+        return result.path("Id").asLong();
+    }
+
+    private long getDocumentsRead(long operationId) {
+        try {
+            JsonNode state = send(databaseUrl + "/operations/state?id=" + operationId, Duration.ofSeconds(5));
+            JsonNode progress = state.path("Result").isObject() ? state.path("Result") : state.path("Progress");
+            return progress.path("Documents").path("ReadCount").asLong();
+        } catch (RuntimeException e) {
+            // operation isn't registered yet or already removed
+            return 0;
+        }
+    }
+
+    private JsonNode send(String url, Duration timeout) {
+        try {
+            HttpURLConnection connection = httpClient.open(url, timeout);
+            try {
+                int status = connection.getResponseCode();
+                InputStream stream = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+                String body = stream != null ? IOUtils.toString(stream, StandardCharsets.UTF_8) : "";
+
+                if (status >= 400) {
+                    throw new RavenException("Server responded with " + status + ": " + body);
+                }
+
+                return body.isEmpty() ? MAPPER.createObjectNode() : MAPPER.readTree(body);
+            } finally {
+                connection.disconnect();
+            }
+        } catch (IOException e) {
+            throw new RavenException("Request to " + url + " failed: " + e.getMessage(), e);
+        }
+    }
+
+    private static String encode(String value) {
+        try {
+            return URLEncoder.encode(value, "UTF-8").replace("+", "%20");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
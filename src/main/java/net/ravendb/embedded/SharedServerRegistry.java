@@ -0,0 +1,152 @@
+package net.ravendb.embedded;
+
+import net.ravendb.client.primitives.CleanCloseable;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Registry of a server shared by many JVMs on the same host.
+ * <p>
+ * Directory contains the detached server state, a lock file guarding changes to it and one lease file
+ * per participant. Participants refresh their lease periodically (heartbeat); leases which weren't refreshed
+ * within lease timeout belong to dead JVMs and are purged. Participant which releases the last lease stops the server.
+ */
+class SharedServerRegistry implements CleanCloseable {
+
+    private static final Log logger = LogFactory.getLog(SharedServerRegistry.class);
+
+    private static final String LOCK_FILE_NAME = "registry.lock";
+    private static final String LEASES_DIRECTORY = "leases";
+    private static final String LEASE_EXTENSION = ".lease";
+
+    // file locks are held by the whole JVM, so threads of this JVM have to be serialized separately
+    private static final ReentrantLock JVM_LOCK = new ReentrantLock();
+
+    private final File directory;
+    private final File leasesDirectory;
+    private final Duration leaseTimeout;
+    private final File lease;
+
+    private ScheduledExecutorService heartbeat;
+
+    /**
+     * @param participantId Id of this participant, see {@link #newParticipantId()}
+     */
+    SharedServerRegistry(String directory, Duration leaseTimeout, String participantId) {
+        this.directory = new File(directory);
+        this.leasesDirectory = new File(directory, LEASES_DIRECTORY);
+        this.leaseTimeout = leaseTimeout;
+        this.lease = new File(leasesDirectory, ProcessUtils.getCurrentPid() + "-" + participantId + LEASE_EXTENSION);
+    }
+
+    /**
+     * @return Random id of a participant, distinguishes leases of participants running in the same JVM
+     */
+    static String newParticipantId() {
+        return UUID.randomUUID().toString().replace("-", "").substring(0, 12);
+    }
+
+    File getStateFile() {
+        return DetachedServerState.stateFile(directory.getAbsolutePath());
+    }
+
+    <T> T withLock(Callable<T> action) throws Exception {
+        if (!leasesDirectory.exists() && !leasesDirectory.mkdirs() && !leasesDirectory.exists()) {
+            throw new IOException("Unable to create shared server directory: " + leasesDirectory);
+        }
+
+        JVM_LOCK.lock();
+        try (RandomAccessFile file = new RandomAccessFile(new File(directory, LOCK_FILE_NAME), "rw");
+             FileChannel channel = file.getChannel();
+             FileLock ignored = channel.lock()) {
+            return action.call();
+        } finally {
+            JVM_LOCK.unlock();
+        }
+    }
+
+    /**
+     * @return true if any participant holds a valid lease. Expired leases are removed. Must be called under lock.
+     */
+    boolean hasActiveLeases() {
+        File[] leases = leasesDirectory.listFiles((dir, name) -> name.endsWith(LEASE_EXTENSION));
+        if (leases == null) {
+            return false;
+        }
+
+        long expiredBefore = System.currentTimeMillis() - leaseTimeout.toMillis();
+        boolean active = false;
+
+        for (File file : leases) {
+            if (file.lastModified() < expiredBefore) {
+                if (logger.isInfoEnabled()) {
+                    logger.info("Removing expired shared server lease " + file.getName());
+                }
+                //noinspection ResultOfMethodCallIsIgnored
+                file.delete();
+            } else {
+                active = true;
+            }
+        }
+
+        return active;
+    }
+
+    /**
+     * Creates lease of this participant and starts heartbeat. Must be called under lock.
+     */
+    void acquireLease() throws IOException {
+        if (!lease.createNewFile() && !lease.exists()) {
+            throw new IOException("Unable to create lease file: " + lease);
+        }
+
+        long interval = Math.max(1, leaseTimeout.toMillis() / 3);
+
+        heartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "RavenDB-Embedded-Shared-Heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        heartbeat.scheduleAtFixedRate(() -> {
+            if (!lease.setLastModified(System.currentTimeMillis())) {
+                logger.warn("Unable to refresh shared server lease " + lease);
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Removes lease of this participant. Must be called under lock.
+     *
+     * @return true if this was the last participant
+     */
+    boolean releaseLease() {
+        close();
+
+        //noinspection ResultOfMethodCallIsIgnored
+        lease.delete();
+
+        return !hasActiveLeases();
+    }
+
+    @Override
+    public void close() {
+        if (heartbeat != null) {
+            heartbeat.shutdownNow();
+            heartbeat = null;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package net.ravendb.embedded;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Owns the single JVM shutdown hook used by all embedded servers.
+ * <p>
+ * Hook is registered when first server starts and removed once the last server is closed,
+ * so long-lived JVMs which start and stop servers repeatedly don't accumulate hooks.
+ */
+final class ShutdownCoordinator {
+
+    private static final Log logger = LogFactory.getLog(ShutdownCoordinator.class);
+
+    static final ShutdownCoordinator INSTANCE = new ShutdownCoordinator();
+
+    private final Set<EmbeddedServer> servers = ConcurrentHashMap.newKeySet();
+
+    private Thread hook;
+
+    private ShutdownCoordinator() {
+    }
+
+    synchronized void register(EmbeddedServer server) {
+        servers.add(server);
+
+        if (hook == null) {
+            Thread thread = new Thread(this::closeAll, "RavenDB-Embedded-Shutdown");
+            Runtime.getRuntime().addShutdownHook(thread);
+            hook = thread;
+        }
+    }
+
+    synchronized void unregister(EmbeddedServer server) {
+        servers.remove(server);
+
+        if (servers.isEmpty() && hook != null) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(hook);
+            } catch (IllegalStateException e) {
+                // JVM shutdown is already in progress
+            }
+
+            hook = null;
+        }
+    }
+
+    private void closeAll() {
+        List<CompletableFuture<ShutdownTimings>> closing = new ArrayList<>();
+
+        for (EmbeddedServer server : servers) {
+            closing.add(server.closeAsync());
+        }
+
+        try {
+            CompletableFuture.allOf(closing.toArray(new CompletableFuture[0])).join();
+        } catch (Exception e) {
+            if (logger.isInfoEnabled()) {
+                logger.info("Failed to close embedded servers on JVM shutdown.", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package net.ravendb.embedded;
+
+import java.time.Duration;
+
+/**
+ * Durations of individual phases of {@link EmbeddedServer#closeAsync()}
+ */
+public class ShutdownTimings {
+
+    static final ShutdownTimings EMPTY = new ShutdownTimings(0, Duration.ZERO, Duration.ZERO);
+
+    private final int closedStores;
+    private final Duration storesCloseDuration;
+    private final Duration serverShutdownDuration;
+
+    ShutdownTimings(int closedStores, Duration storesCloseDuration, Duration serverShutdownDuration) {
+        this.closedStores = closedStores;
+        this.storesCloseDuration = storesCloseDuration;
+        this.serverShutdownDuration = serverShutdownDuration;
+    }
+
+    /**
+     * @return Number of document stores closed
+     */
+    public int getClosedStores() {
+        return closedStores;
+    }
+
+    /**
+     * @return Time spent closing document stores
+     */
+    public Duration getStoresCloseDuration() {
+        return storesCloseDuration;
+    }
+
+    /**
+     * @return Time spent shutting down server process
+     */
+    public Duration getServerShutdownDuration() {
+        return serverShutdownDuration;
+    }
+
+    public Duration getTotalDuration() {
+        return storesCloseDuration.plus(serverShutdownDuration);
+    }
+
+    @Override
+    public String toString() {
+        return "ShutdownTimings{" +
+                "closedStores=" + closedStores +
+                ", storesCloseDuration=" + storesCloseDuration +
+                ", serverShutdownDuration=" + serverShutdownDuration +
+                '}';
+    }
+}
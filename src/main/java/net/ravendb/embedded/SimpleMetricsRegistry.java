@@ -0,0 +1,75 @@
+package net.ravendb.embedded;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link MetricsRegistry} which keeps the latest values in memory, for use without a metrics library.
+ */
+public class SimpleMetricsRegistry implements MetricsRegistry {
+
+    private final ConcurrentMap<String, SimpleGauge> gauges = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public Gauge gauge(String name, Map<String, String> tags) {
+        return gauges.computeIfAbsent(key(name, tags), k -> new SimpleGauge());
+    }
+
+    @Override
+    public Counter counter(String name, Map<String, String> tags) {
+        AtomicLong counter = counters.computeIfAbsent(key(name, tags), k -> new AtomicLong());
+        return counter::addAndGet;
+    }
+
+    /**
+     * @return last value of the gauge, or null when it wasn't reported
+     */
+    public Double getGauge(String name, Map<String, String> tags) {
+        SimpleGauge gauge = gauges.get(key(name, tags));
+        return gauge != null ? gauge.value : null;
+    }
+
+    /**
+     * @return value of the counter, or null when it wasn't reported
+     */
+    public Long getCounter(String name, Map<String, String> tags) {
+        AtomicLong counter = counters.get(key(name, tags));
+        return counter != null ? counter.get() : null;
+    }
+
+    /**
+     * @return all values by metric name with tags, e.g. ravendb.database.counts.documents{database=Orders}
+     */
+    public Map<String, Number> getValues() {
+        Map<String, Number> values = new TreeMap<>();
+        gauges.forEach((key, gauge) -> values.put(key, gauge.value));
+        counters.forEach((key, counter) -> values.put(key, counter.get()));
+        return values;
+    }
+
+    private static String key(String name, Map<String, String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return name;
+        }
+
+        return name + new TreeMap<>(tags).toString();
+    }
+
+    @Override
+    public String toString() {
+        return "SimpleMetricsRegistry" + getValues();
+    }
+
+    private static class SimpleGauge implements Gauge {
+        private volatile double value;
+
+        @Override
+        public void set(double value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package net.ravendb.embedded;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Request which took longer than {@link ServerOptions#setSlowRequestThreshold(Duration)},
+ * see {@link EmbeddedServer#getSlowRequests()}.
+ */
+public class SlowRequest {
+
+    private final Instant timestamp;
+    private final String database;
+    private final String operation;
+    private final String url;
+    private final String query;
+    private final Duration duration;
+    private final Duration serverDuration;
+    private final int statusCode;
+    private final long responseBytes;
+    private final String error;
+
+    SlowRequest(Instant timestamp, String database, String operation, String url, String query, Duration duration,
+                Duration serverDuration, int statusCode, long responseBytes, String error) {
+        this.timestamp = timestamp;
+        this.database = database;
+        this.operation = operation;
+        this.url = url;
+        this.query = query;
+        this.duration = duration;
+        this.serverDuration = serverDuration;
+        this.statusCode = statusCode;
+        this.responseBytes = responseBytes;
+        this.error = error;
+    }
+
+    /**
+     * @return Time request completed
+     */
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    public String getDatabase() {
+        return database;
+    }
+
+    /**
+     * @return HTTP method and endpoint relative to the database, e.g. "POST /queries"
+     */
+    public String getOperation() {
+        return operation;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * @return RQL of the query, or null when request isn't a query
+     */
+    public String getQuery() {
+        return query;
+    }
+
+    /**
+     * @return Duration measured by the client, including network and response processing
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * @return Time server spent processing the request, as reported in its Request-Time header, or null when unknown
+     */
+    public Duration getServerDuration() {
+        return serverDuration;
+    }
+
+    /**
+     * @return HTTP status code, or -1 when request failed without response
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * @return Response size, or -1 when unknown (e.g. chunked response)
+     */
+    public long getResponseBytes() {
+        return responseBytes;
+    }
+
+    /**
+     * @return Error message, or null when request succeeded
+     */
+    public String getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return "SlowRequest{" +
+                "timestamp=" + timestamp +
+                ", database='" + database + '\'' +
+                ", operation='" + operation + '\'' +
+                ", url='" + url + '\'' +
+                ", query='" + query + '\'' +
+                ", duration=" + duration +
+                ", serverDuration=" + serverDuration +
+                ", statusCode=" + statusCode +
+                ", responseBytes=" + responseBytes +
+                ", error='" + error + '\'' +
+                '}';
+    }
+}
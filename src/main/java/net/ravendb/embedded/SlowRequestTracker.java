@@ -0,0 +1,140 @@
+package net.ravendb.embedded;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Keeps the most recent requests which exceeded the threshold in a fixed size ring.
+ * <p>
+ * Requests under the threshold return after a single comparison. Details of slow requests are gathered only
+ * after they were classified as slow, including the query text, which is serialized from the request again.
+ */
+class SlowRequestTracker implements RequestInstrumentation.Observer {
+
+    private static final Log logger = LogFactory.getLog(SlowRequestTracker.class);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String REQUEST_TIME_HEADER = "Request-Time";
+
+    private static final int MAX_QUERY_BODY_BYTES = 64 * 1024;
+
+    private final long thresholdNanos;
+    private final AtomicReferenceArray<SlowRequest> ring;
+    private final AtomicLong count = new AtomicLong();
+
+    SlowRequestTracker(Duration threshold, int capacity) {
+        if (threshold.isNegative()) {
+            throw new IllegalArgumentException("slowRequestThreshold cannot be negative");
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("slowRequestCapacity must be at least 1");
+        }
+
+        this.thresholdNanos = threshold.toNanos();
+        this.ring = new AtomicReferenceArray<>(capacity);
+    }
+
+    @Override
+    public void onRequestComplete(RequestInstrumentation.RequestContext context) {
+        if (context.getDurationNanos() < thresholdNanos) {
+            return;
+        }
+
+        HttpUriRequest request = context.getRequest();
+        HttpResponse response = context.getResponse();
+        Exception exception = context.getException();
+        String operation = context.getOperation();
+
+        SlowRequest slowRequest = new SlowRequest(Instant.now(), context.getDatabase(), operation,
+                request.getURI().toString(), readQuery(request, operation),
+                Duration.ofNanos(context.getDurationNanos()), readServerDuration(response),
+                response != null ? response.getStatusLine().getStatusCode() : -1,
+                context.getResponseBytes(),
+                exception != null ? exception.getMessage() : null);
+
+        long index = count.getAndIncrement();
+        ring.set((int) (index % ring.length()), slowRequest);
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Slow request: " + slowRequest);
+        }
+    }
+
+    /**
+     * @return recent slow requests, newest first
+     */
+    List<SlowRequest> getSlowRequests() {
+        List<SlowRequest> result = new ArrayList<>(ring.length());
+
+        long newest = count.get() - 1;
+        for (long index = newest; index >= 0 && index > newest - ring.length(); index--) {
+            SlowRequest slowRequest = ring.get((int) (index % ring.length()));
+            if (slowRequest != null) {
+                result.add(slowRequest);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * @return number of slow requests since server was started, including those which no longer fit in the ring
+     */
+    long getCount() {
+        return count.get();
+    }
+
+    private static Duration readServerDuration(HttpResponse response) {
+        Header header = response != null ? response.getFirstHeader(REQUEST_TIME_HEADER) : null;
+        if (header == null) {
+            return null;
+        }
+
+        try {
+            return Duration.ofMillis(Long.parseLong(header.getValue().trim()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String readQuery(HttpUriRequest request, String operation) {
+        if (!operation.endsWith("/queries") || !(request instanceof HttpEntityEnclosingRequest)) {
+            return null;
+        }
+
+        HttpEntity entity = ((HttpEntityEnclosingRequest) request).getEntity();
+        if (entity == null || !entity.isRepeatable()) {
+            return null;
+        }
+
+        try {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            entity.writeTo(body);
+
+            if (body.size() > MAX_QUERY_BODY_BYTES) {
+                return null;
+            }
+
+            JsonNode query = MAPPER.readTree(body.toByteArray()).get("Query");
+            return query != null ? query.asText() : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
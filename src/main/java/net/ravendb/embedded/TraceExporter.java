@@ -0,0 +1,20 @@
+package net.ravendb.embedded;
+
+/**
+ * Receives spans of embedded server startup phases and of requests sent by document stores,
+ * see {@link ServerOptions#setTraceExporter(TraceExporter)}. Implementations bridge spans to a tracing
+ * system (OpenTelemetry, Zipkin, ...) and must be thread safe.
+ */
+public interface TraceExporter {
+
+    void export(TraceSpan span);
+
+    /**
+     * Links spans to the trace active in the calling thread.
+     *
+     * @return W3C traceparent header value of the caller's current span, or null to start a new trace
+     */
+    default String currentTraceParent() {
+        return null;
+    }
+}
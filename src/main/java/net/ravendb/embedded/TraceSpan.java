@@ -0,0 +1,105 @@
+package net.ravendb.embedded;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Finished span passed to {@link TraceExporter}. Ids are lowercase hex strings as used by W3C trace context.
+ */
+public class TraceSpan {
+
+    public enum Kind {
+        /**
+         * Work done in this JVM, e.g. startup phase
+         */
+        INTERNAL,
+        /**
+         * Request sent to the server
+         */
+        CLIENT
+    }
+
+    private final String traceId;
+    private final String spanId;
+    private final String parentSpanId;
+    private final String name;
+    private final Kind kind;
+    private final Instant startTime;
+    private final Duration duration;
+    private final Map<String, String> attributes;
+    private final String error;
+
+    TraceSpan(String traceId, String spanId, String parentSpanId, String name, Kind kind, Instant startTime,
+              Duration duration, Map<String, String> attributes, String error) {
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.name = name;
+        this.kind = kind;
+        this.startTime = startTime;
+        this.duration = duration;
+        this.attributes = attributes;
+        this.error = error;
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    /**
+     * @return id of the parent span, or null for root span
+     */
+    public String getParentSpanId() {
+        return parentSpanId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public Instant getStartTime() {
+        return startTime;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * @return Attributes following OpenTelemetry semantic conventions, e.g. db.name or http.status_code
+     */
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    /**
+     * @return error message, or null when span completed successfully
+     */
+    public String getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return "TraceSpan{" +
+                "traceId='" + traceId + '\'' +
+                ", spanId='" + spanId + '\'' +
+                ", parentSpanId='" + parentSpanId + '\'' +
+                ", name='" + name + '\'' +
+                ", kind=" + kind +
+                ", startTime=" + startTime +
+                ", duration=" + duration +
+                ", attributes=" + attributes +
+                ", error='" + error + '\'' +
+                '}';
+    }
+}
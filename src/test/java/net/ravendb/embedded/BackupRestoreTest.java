@@ -0,0 +1,88 @@
+package net.ravendb.embedded;
+
+import net.ravendb.client.documents.IDocumentStore;
+import net.ravendb.client.documents.operations.GetStatisticsOperation;
+import net.ravendb.client.documents.operations.backups.GetPeriodicBackupStatusOperation;
+import net.ravendb.client.documents.operations.backups.PeriodicBackupStatus;
+import net.ravendb.client.documents.operations.backups.StartBackupOperation;
+import net.ravendb.client.documents.session.IDocumentSession;
+import net.ravendb.client.primitives.CleanCloseable;
+import net.ravendb.client.primitives.Reference;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.io.File;
+import java.nio.file.Paths;
+import java.util.Collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BackupRestoreTest {
+
+    @RegisterExtension
+    static final EmbeddedServerExtension extension = new EmbeddedServerExtension(TestServerOptions::shared);
+
+    @Test
+    public void canRestoreDatabaseFromLocalBackup(IDocumentStore source, EmbeddedServer embedded) throws Exception {
+        canRestoreDatabase(source, embedded, false, "ravendb-full-backup");
+    }
+
+    @Test
+    public void canRestoreDatabaseFromLocalSnapshot(IDocumentStore source, EmbeddedServer embedded) throws Exception {
+        canRestoreDatabase(source, embedded, true, "ravendb-snapshot");
+    }
+
+    private static void canRestoreDatabase(IDocumentStore source, EmbeddedServer embedded, boolean snapshot,
+                                           String extension) throws Exception {
+        Reference<String> tempDir = new Reference<>();
+        try (CleanCloseable context = DirUtils.withTemporaryDir(tempDir)) {
+            try (IDocumentSession session = source.openSession()) {
+                for (int i = 1; i <= 10; i++) {
+                    Person person = new Person();
+                    person.setName("Person " + i);
+                    session.store(person, "people/" + i);
+                }
+                session.saveChanges();
+            }
+
+            File backups = Paths.get(tempDir.value, "Backups").toFile();
+            LocalBackupOptions backupOptions = new LocalBackupOptions(backups.getAbsolutePath());
+            backupOptions.setSnapshot(snapshot);
+
+            long taskId = embedded.configureLocalBackups(source.getDatabase(), backupOptions);
+
+            // configuring again updates the same task
+            assertThat(embedded.configureLocalBackups(source.getDatabase(), backupOptions))
+                    .isEqualTo(taskId);
+
+            source.maintenance().send(new StartBackupOperation(true, taskId));
+
+            // backup file is written gradually, status is updated once it is complete
+            PeriodicBackupStatus status = null;
+            long deadline = System.currentTimeMillis() + 60_000;
+            while ((status == null || status.getLastFullBackup() == null) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(200);
+                status = source.maintenance().send(new GetPeriodicBackupStatusOperation(taskId)).getStatus();
+            }
+
+            assertThat(status)
+                    .isNotNull();
+            assertThat(status.getError() != null ? status.getError().getException() : null)
+                    .isNull();
+            assertThat(status.getLastFullBackup())
+                    .isNotNull();
+
+            Collection<File> files = FileUtils.listFiles(backups, new String[]{extension}, true);
+            assertThat(files)
+                    .hasSize(1);
+
+            DatabaseOptions restoredOptions = new DatabaseOptions(source.getDatabase() + "_Restored");
+            restoredOptions.setRestoreBackupLocation(files.iterator().next().getParent());
+
+            IDocumentStore restored = embedded.getDocumentStore(restoredOptions);
+            assertThat(restored.maintenance().send(new GetStatisticsOperation()).getCountOfDocuments())
+                    .isEqualTo(10);
+        }
+    }
+}
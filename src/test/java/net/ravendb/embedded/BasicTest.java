@@ -2,18 +2,25 @@ package net.ravendb.embedded;
 
 import net.ravendb.client.documents.IDocumentStore;
 import net.ravendb.client.documents.conventions.DocumentConventions;
+import net.ravendb.client.documents.operations.indexes.GetIndexNamesOperation;
 import net.ravendb.client.documents.session.IDocumentSession;
 import net.ravendb.client.primitives.CleanCloseable;
 import net.ravendb.client.primitives.Reference;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
 
 import java.nio.file.Paths;
 import java.util.Collections;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class BasicTest {
 
+    @RegisterExtension
+    static final EmbeddedServerExtension extension = new EmbeddedServerExtension(TestServerOptions::shared);
+
     @Test
     public void testEmbedded() throws Exception {
         Reference<String> tempDir = new Reference<>();
@@ -74,4 +81,78 @@ public class BasicTest {
             }
         }
     }
+
+    @Test
+    public void closeAsyncReportsTimings() throws Exception {
+        Reference<String> tempDir = new Reference<>();
+        try (CleanCloseable context = DirUtils.withTemporaryDir(tempDir)) {
+            EmbeddedServer embedded = new EmbeddedServer();
+
+            ServerOptions serverOptions = new ServerOptions();
+            serverOptions.setTargetServerLocation(Paths.get(tempDir.value, "RavenDBServer").toString());
+            serverOptions.setDataDirectory(Paths.get(tempDir.value, "RavenDB").toString());
+            serverOptions.setLogsPath(Paths.get(tempDir.value, "Logs").toString());
+            serverOptions.provider = new CopyServerFromNugetProvider();
+            embedded.startServer(serverOptions);
+
+            embedded.getDocumentStore("Test1");
+            embedded.getDocumentStore("Test2");
+
+            Process process = embedded.getServerProcess();
+
+            ShutdownTimings timings = embedded.closeAsync().get();
+
+            assertThat(timings.getClosedStores())
+                    .isEqualTo(2);
+            assertThat(timings.getTotalDuration())
+                    .isEqualTo(timings.getStoresCloseDuration().plus(timings.getServerShutdownDuration()));
+            assertThat(process.isAlive())
+                    .isFalse();
+
+            assertThat(embedded.closeAsync().get().getClosedStores())
+                    .isZero();
+        }
+    }
+
+    @Test
+    public void canWarmUpDocumentStore(EmbeddedServer embedded) throws Exception {
+        DatabaseOptions databaseOptions = new DatabaseOptions("WarmUp");
+        databaseOptions.setWarmUp(true);
+        databaseOptions.setWarmUpConnections(2);
+        databaseOptions.setWarmUpQueries(Collections.singletonList("from People where Name = 'John'"));
+
+        IDocumentStore store = embedded.getDocumentStore(databaseOptions);
+
+        List<RequestStatistics> statistics = embedded.getRequestStatistics("WarmUp");
+
+        // topology/database load request plus one per warmed up connection
+        assertThat(statistics)
+                .filteredOn(x -> "GET /stats".equals(x.getOperation()))
+                .singleElement()
+                .satisfies(x -> assertThat(x.getRequests()).isGreaterThanOrEqualTo(3));
+
+        assertThat(statistics)
+                .filteredOn(x -> "POST /queries".equals(x.getOperation()))
+                .singleElement()
+                .satisfies(x -> {
+                    assertThat(x.getRequests()).isEqualTo(1);
+                    assertThat(x.getErrors()).isZero();
+                });
+
+        // warm-up query created the auto index
+        assertThat(store.maintenance().send(new GetIndexNamesOperation(0, 10)))
+                .contains("Auto/People/ByName");
+    }
+
+    @Test
+    public void rejectsServerUrlWithUnsupportedScheme() {
+        ServerOptions serverOptions = new ServerOptions();
+        serverOptions.setServerUrl("unix:/tmp/ravendb.sock");
+
+        try (EmbeddedServer embedded = new EmbeddedServer()) {
+            assertThatThrownBy(() -> embedded.startServer(serverOptions))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("http or https");
+        }
+    }
 }
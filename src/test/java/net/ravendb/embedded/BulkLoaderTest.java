@@ -0,0 +1,121 @@
+package net.ravendb.embedded;
+
+import net.ravendb.client.documents.IDocumentStore;
+import net.ravendb.client.documents.operations.GetStatisticsOperation;
+import net.ravendb.client.documents.session.IDocumentSession;
+import net.ravendb.client.documents.session.IMetadataDictionary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BulkLoaderTest {
+
+    @RegisterExtension
+    static final EmbeddedServerExtension extension = new EmbeddedServerExtension(TestServerOptions::shared);
+
+    @Test
+    public void canReadCsv() throws Exception {
+        CsvReader reader = new CsvReader(new StringReader("id,name\r\n1,\"Doe, John\"\n\n2,\"multi\nline \"\"quoted\"\"\"\n3,"));
+
+        assertThat(reader.readRecord())
+                .containsExactly("id", "name");
+        assertThat(reader.readRecord())
+                .containsExactly("1", "Doe, John");
+        assertThat(reader.readRecord())
+                .containsExactly("2", "multi\nline \"quoted\"");
+        assertThat(reader.readRecord())
+                .containsExactly("3", "");
+        assertThat(reader.readRecord())
+                .isNull();
+    }
+
+    @Test
+    public void canLoadNdjsonAndCsv(IDocumentStore store) throws Exception {
+        BulkLoadOptions options = new BulkLoadOptions();
+        options.setCollection("People");
+        options.setIdField("id");
+        options.setPartitions(3);
+        options.setBatchSize(7);
+
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 1; i <= 100; i++) {
+            ndjson.append("{\"id\":\"people/").append(i).append("\",\"name\":\"Person ").append(i).append("\"}\n");
+        }
+
+        BulkLoadResult ndjsonResult = new BulkLoader(store, options)
+                .loadNdjson(new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(ndjsonResult.getDocuments())
+                .isEqualTo(100);
+        assertThat(ndjsonResult.getBytes())
+                .isEqualTo(ndjson.length());
+
+        String csv = String.join("\n", Arrays.asList("id,name", "people/101,Marcin", "people/102,\"Doe, John\""));
+
+        BulkLoadResult csvResult = new BulkLoader(store, options)
+                .loadCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(csvResult.getDocuments())
+                .isEqualTo(2);
+
+        assertThat(store.maintenance().send(new GetStatisticsOperation()).getCountOfDocuments())
+                .isEqualTo(102);
+
+        try (IDocumentSession session = store.openSession()) {
+            assertThat(session.load(Person.class, "people/42").getName())
+                    .isEqualTo("Person 42");
+            assertThat(session.load(Person.class, "people/102").getName())
+                    .isEqualTo("Doe, John");
+        }
+    }
+
+    @Test
+    public void ndjsonWithoutMetadataIsNotAttributedToObjectNode(IDocumentStore store) throws Exception {
+        String ndjson = "{\"id\":\"people/1\",\"name\":\"John\"}\n";
+
+        BulkLoadOptions options = new BulkLoadOptions();
+        options.setIdField("id");
+
+        new BulkLoader(store, options)
+                .loadNdjson(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        try (IDocumentSession session = store.openSession()) {
+            Person person = session.load(Person.class, "people/1");
+            assertThat(person.getName())
+                    .isEqualTo("John");
+
+            IMetadataDictionary metadata = session.advanced().getMetadataFor(person);
+            assertThat(metadata.get("@collection"))
+                    .isEqualTo("@empty");
+            assertThat(String.valueOf(metadata.get("Raven-Java-Type")))
+                    .doesNotContain("ObjectNode");
+        }
+    }
+
+    @Test
+    public void generatesIdsPerCollectionByDefault(IDocumentStore store) throws Exception {
+        String ndjson = "{\"id\":\"1\",\"name\":\"John\"}\n";
+
+        for (String collection : Arrays.asList("People", "Companies")) {
+            BulkLoadOptions options = new BulkLoadOptions();
+            options.setCollection(collection);
+
+            new BulkLoader(store, options)
+                    .loadNdjson(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        assertThat(store.maintenance().send(new GetStatisticsOperation()).getCountOfDocuments())
+                .isEqualTo(2);
+
+        try (IDocumentSession session = store.openSession()) {
+            assertThat(session.load(Person.class, "1"))
+                    .isNull();
+        }
+    }
+}
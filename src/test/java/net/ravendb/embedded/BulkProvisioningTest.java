@@ -0,0 +1,50 @@
+package net.ravendb.embedded;
+
+import net.ravendb.client.documents.IDocumentStore;
+import net.ravendb.client.documents.session.IDocumentSession;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BulkProvisioningTest {
+
+    @RegisterExtension
+    static final EmbeddedServerExtension extension = new EmbeddedServerExtension(TestServerOptions::shared);
+
+    @Test
+    public void canProvisionManyDatabasesAtOnce(EmbeddedServer embedded) throws Exception {
+        // one database exists up front
+        embedded.getDocumentStore("Provisioning_Tenant_0");
+
+        List<DatabaseOptions> tenants = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            tenants.add(new DatabaseOptions("Provisioning_Tenant_" + i));
+        }
+
+        Map<String, IDocumentStore> stores = embedded.getDocumentStores(tenants, 4);
+
+        assertThat(stores)
+                .hasSize(20)
+                .containsKeys("Provisioning_Tenant_0", "Provisioning_Tenant_19");
+
+        for (Map.Entry<String, IDocumentStore> entry : stores.entrySet()) {
+            assertThat(entry.getValue())
+                    .isSameAs(embedded.getDocumentStore(entry.getKey()));
+
+            try (IDocumentSession session = entry.getValue().openSession()) {
+                Person person = new Person();
+                person.setName(entry.getKey());
+                session.store(person, "people/1");
+                session.saveChanges();
+            }
+        }
+
+        // second call finds all databases in place
+        embedded.ensureDatabases(tenants);
+    }
+}
@@ -0,0 +1,94 @@
+package net.ravendb.embedded;
+
+import net.ravendb.client.documents.IDocumentStore;
+import net.ravendb.client.documents.operations.GetStatisticsOperation;
+import net.ravendb.client.documents.operations.compareExchange.CompareExchangeValue;
+import net.ravendb.client.documents.operations.compareExchange.DeleteCompareExchangeValueOperation;
+import net.ravendb.client.documents.operations.compareExchange.GetCompareExchangeValueOperation;
+import net.ravendb.client.documents.operations.compareExchange.PutCompareExchangeValueOperation;
+import net.ravendb.client.documents.session.IDocumentSession;
+import net.ravendb.client.documents.smuggler.DatabaseSmugglerExportOptions;
+import net.ravendb.client.primitives.CleanCloseable;
+import net.ravendb.client.primitives.Reference;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DatabaseSeedingTest {
+
+    @RegisterExtension
+    static final EmbeddedServerExtension extension = new EmbeddedServerExtension(TestServerOptions::shared);
+
+    @Test
+    public void seedsDatabaseUntilChecksumMatches(IDocumentStore source, EmbeddedServer embedded) throws Exception {
+        Reference<String> tempDir = new Reference<>();
+        try (CleanCloseable context = DirUtils.withTemporaryDir(tempDir)) {
+            try (IDocumentSession session = source.openSession()) {
+                for (int i = 1; i <= 10; i++) {
+                    Person person = new Person();
+                    person.setName("Person " + i);
+                    session.store(person, "people/" + i);
+                }
+                session.saveChanges();
+            }
+
+            Files.createDirectories(Paths.get(tempDir.value, "dumps"));
+            String dump = Paths.get(tempDir.value, "dumps", "people.ravendbdump").toString();
+            source.smuggler().exportAsync(new DatabaseSmugglerExportOptions(), dump).waitForCompletion();
+
+            DatabaseOptions databaseOptions = new DatabaseOptions(source.getDatabase() + "_Seeded");
+            databaseOptions.setSeedDumps(Collections.singletonList(Paths.get(tempDir.value, "dumps").toString()));
+
+            IDocumentStore seeded = embedded.getDocumentStore(databaseOptions);
+            assertThat(seeded.maintenance().send(new GetStatisticsOperation()).getCountOfDocuments())
+                    .isEqualTo(10);
+
+            try (IDocumentSession session = seeded.openSession()) {
+                session.delete("people/1");
+                session.saveChanges();
+            }
+
+            // same dumps - import is skipped
+            embedded.ensureDatabases(Collections.singletonList(databaseOptions));
+
+            assertThat(seeded.maintenance().send(new GetStatisticsOperation()).getCountOfDocuments())
+                    .isEqualTo(9);
+
+            // missing checksum (e.g. import was interrupted) - database is seeded again
+            CompareExchangeValue<String> marker = seeded.operations()
+                    .send(new GetCompareExchangeValueOperation<>(String.class, DatabaseSeeder.CHECKSUM_KEY));
+            assertThat(marker)
+                    .isNotNull();
+
+            seeded.operations().send(new DeleteCompareExchangeValueOperation<>(String.class, DatabaseSeeder.CHECKSUM_KEY, marker.getIndex()));
+
+            embedded.ensureDatabases(Collections.singletonList(databaseOptions));
+
+            assertThat(seeded.maintenance().send(new GetStatisticsOperation()).getCountOfDocuments())
+                    .isEqualTo(10);
+
+            // different checksum - database is seeded again
+            try (IDocumentSession session = seeded.openSession()) {
+                session.delete("people/1");
+                session.saveChanges();
+            }
+
+            marker = seeded.operations()
+                    .send(new GetCompareExchangeValueOperation<>(String.class, DatabaseSeeder.CHECKSUM_KEY));
+            seeded.operations().send(new PutCompareExchangeValueOperation<>(DatabaseSeeder.CHECKSUM_KEY, "outdated", marker.getIndex()));
+
+            embedded.ensureDatabases(Collections.singletonList(databaseOptions));
+
+            assertThat(seeded.maintenance().send(new GetStatisticsOperation()).getCountOfDocuments())
+                    .isEqualTo(10);
+            assertThat(seeded.operations()
+                    .send(new GetCompareExchangeValueOperation<>(String.class, DatabaseSeeder.CHECKSUM_KEY)).getValue())
+                    .isNotEqualTo("outdated");
+        }
+    }
+}
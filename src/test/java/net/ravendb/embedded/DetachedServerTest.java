@@ -0,0 +1,121 @@
+package net.ravendb.embedded;
+
+import net.ravendb.client.documents.IDocumentStore;
+import net.ravendb.client.documents.session.IDocumentSession;
+import net.ravendb.client.primitives.CleanCloseable;
+import net.ravendb.client.primitives.Reference;
+import org.apache.commons.lang3.SystemUtils;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class DetachedServerTest {
+
+    @Test
+    public void canReattachToDetachedServer() throws Exception {
+        Reference<String> tempDir = new Reference<>();
+        try (CleanCloseable context = DirUtils.withTemporaryDir(tempDir)) {
+            String serverUrl;
+            long pid;
+
+            try (EmbeddedServer embedded = new EmbeddedServer()) {
+                embedded.startServer(createOptions(tempDir.value));
+
+                serverUrl = embedded.getServerUri();
+                pid = ProcessUtils.getPid(embedded.getServerProcess());
+
+                try (IDocumentSession session = embedded.getDocumentStore("Test").openSession()) {
+                    Person person = new Person();
+                    person.setName("John");
+
+                    session.store(person, "people/1");
+                    session.saveChanges();
+                }
+            }
+
+            assertThat(ProcessUtils.isAlive(pid))
+                    .isTrue();
+
+            EmbeddedServer embedded = new EmbeddedServer();
+            embedded.startServer(createOptions(tempDir.value));
+
+            assertThat(embedded.getServerProcess())
+                    .isNull();
+            assertThat(embedded.getServerUri())
+                    .isEqualTo(serverUrl);
+
+            IDocumentStore store = embedded.getDocumentStore("Test");
+            try (IDocumentSession session = store.openSession()) {
+                assertThat(session.load(Person.class, "people/1").getName())
+                        .isEqualTo("John");
+            }
+
+            embedded.shutdownDetachedServer();
+
+            assertThat(ProcessUtils.isAlive(pid))
+                    .isFalse();
+        }
+    }
+
+    @Test
+    public void staleStateFileDoesNotStopUnrelatedProcess() throws Exception {
+        assumeTrue(SystemUtils.IS_OS_UNIX);
+
+        Process unrelated = new ProcessBuilder("sleep", "60").start();
+        try {
+            Reference<String> tempDir = new Reference<>();
+            try (CleanCloseable context = DirUtils.withTemporaryDir(tempDir)) {
+                ServerOptions serverOptions = createOptions(tempDir.value);
+
+                // state of a server which died, its pid was reused since
+                Files.createDirectories(Paths.get(serverOptions.getTargetServerLocation()));
+                new DetachedServerState(ProcessUtils.getPid(unrelated), "stale", "http://127.0.0.1:1", "stale")
+                        .write(DetachedServerState.stateFile(serverOptions.getTargetServerLocation()));
+
+                EmbeddedServer embedded = new EmbeddedServer();
+                embedded.startServer(serverOptions);
+
+                assertThat(embedded.getServerProcess())
+                        .isNotNull();
+                assertThat(unrelated.isAlive())
+                        .isTrue();
+
+                embedded.shutdownDetachedServer();
+            }
+
+            assertThat(unrelated.isAlive())
+                    .isTrue();
+        } finally {
+            unrelated.destroyForcibly();
+        }
+    }
+
+    @Test
+    public void startTimeIdentifiesProcess() {
+        long pid = ProcessUtils.getCurrentPid();
+        String startTime = ProcessUtils.getStartTime(pid);
+
+        assumeTrue(startTime != null);
+
+        assertThat(ProcessUtils.getStartTime(pid))
+                .isEqualTo(startTime);
+        assertThat(ProcessUtils.isAlive(pid, startTime))
+                .isTrue();
+        assertThat(ProcessUtils.isAlive(pid, "stale"))
+                .isFalse();
+    }
+
+    private static ServerOptions createOptions(String tempDir) {
+        ServerOptions serverOptions = new ServerOptions();
+        serverOptions.setTargetServerLocation(Paths.get(tempDir, "RavenDBServer").toString());
+        serverOptions.setDataDirectory(Paths.get(tempDir, "RavenDB").toString());
+        serverOptions.setLogsPath(Paths.get(tempDir, "Logs").toString());
+        serverOptions.provider = new CopyServerFromNugetProvider();
+        serverOptions.setDetached(true);
+        return serverOptions;
+    }
+}
@@ -0,0 +1,96 @@
+package net.ravendb.embedded;
+
+import net.ravendb.client.documents.IDocumentStore;
+import net.ravendb.client.documents.session.IDocumentSession;
+import net.ravendb.client.primitives.CleanCloseable;
+import net.ravendb.client.primitives.Reference;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DocumentStoreEvictionTest {
+
+    @Test
+    public void evictsLeastRecentlyUsedAndIdleStores() throws Exception {
+        Reference<String> tempDir = new Reference<>();
+        try (CleanCloseable context = DirUtils.withTemporaryDir(tempDir)) {
+            try (EmbeddedServer embedded = new EmbeddedServer()) {
+                ServerOptions serverOptions = new ServerOptions();
+                serverOptions.setTargetServerLocation(Paths.get(tempDir.value, "RavenDBServer").toString());
+                serverOptions.setDataDirectory(Paths.get(tempDir.value, "RavenDB").toString());
+                serverOptions.setLogsPath(Paths.get(tempDir.value, "Logs").toString());
+                serverOptions.provider = new CopyServerFromNugetProvider();
+                serverOptions.setMaxDocumentStores(2);
+                serverOptions.setDocumentStoreIdleTimeout(Duration.ofSeconds(2));
+                embedded.startServer(serverOptions);
+
+                IDocumentStore first = embedded.getDocumentStore("First");
+                embedded.getDocumentStore("Second");
+                embedded.getDocumentStore("First");
+                embedded.getDocumentStore("Third");
+
+                DocumentStoreCacheStatistics statistics = embedded.getDocumentStoreCacheStatistics();
+                assertThat(statistics.getMisses())
+                        .isEqualTo(3);
+                assertThat(statistics.getHits())
+                        .isEqualTo(1);
+                assertThat(statistics.getEvictions())
+                        .isEqualTo(1);
+                assertThat(statistics.getOpenStores())
+                        .isEqualTo(2);
+
+                // 'Second' was least recently used
+                assertThat(embedded.getDocumentStore("First"))
+                        .isSameAs(first);
+
+                long deadline = System.currentTimeMillis() + 10_000;
+                while (embedded.getDocumentStoreCacheStatistics().getOpenStores() > 0 && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(100);
+                }
+
+                assertThat(embedded.getDocumentStoreCacheStatistics().getOpenStores())
+                        .isZero();
+
+                // recreated lazily
+                assertThat(embedded.getDocumentStore("First"))
+                        .isNotSameAs(first);
+            }
+        }
+    }
+
+    @Test
+    public void storeWithRequestsInProgressIsNotIdle() throws Exception {
+        Reference<String> tempDir = new Reference<>();
+        try (CleanCloseable context = DirUtils.withTemporaryDir(tempDir)) {
+            try (EmbeddedServer embedded = new EmbeddedServer()) {
+                ServerOptions serverOptions = new ServerOptions();
+                serverOptions.setTargetServerLocation(Paths.get(tempDir.value, "RavenDBServer").toString());
+                serverOptions.setDataDirectory(Paths.get(tempDir.value, "RavenDB").toString());
+                serverOptions.setLogsPath(Paths.get(tempDir.value, "Logs").toString());
+                serverOptions.provider = new CopyServerFromNugetProvider();
+                serverOptions.setDocumentStoreIdleTimeout(Duration.ofSeconds(2));
+                embedded.startServer(serverOptions);
+
+                // store is requested once and then only used
+                IDocumentStore store = embedded.getDocumentStore("Busy");
+
+                long end = System.currentTimeMillis() + 5_000;
+                while (System.currentTimeMillis() < end) {
+                    try (IDocumentSession session = store.openSession()) {
+                        session.load(Person.class, "people/1");
+                    }
+
+                    Thread.sleep(200);
+                }
+
+                assertThat(embedded.getDocumentStoreCacheStatistics().getEvictions())
+                        .isZero();
+                assertThat(embedded.getDocumentStore("Busy"))
+                        .isSameAs(store);
+            }
+        }
+    }
+}
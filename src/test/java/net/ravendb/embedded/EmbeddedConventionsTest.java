@@ -0,0 +1,44 @@
+package net.ravendb.embedded;
+
+import net.ravendb.client.documents.conventions.DocumentConventions;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmbeddedConventionsTest {
+
+    @Test
+    public void disablesCompressionOnlyOnLoopback() {
+        DocumentConventions loopback = EmbeddedConventions.create("http://127.0.0.1:8080");
+        assertThat(loopback.isUseCompression())
+                .isFalse();
+        assertThat(loopback.isDisableTopologyUpdates())
+                .isTrue();
+
+        DocumentConventions remote = EmbeddedConventions.create("https://a.javatest11.development.invalid:7654");
+        assertThat(remote.isUseCompression())
+                .isEqualTo(new DocumentConventions().isUseCompression());
+        assertThat(remote.isDisableTopologyUpdates())
+                .isTrue();
+    }
+
+    @Test
+    public void detectsLoopbackUrls() {
+        assertThat(EmbeddedConventions.isLoopback("http://127.0.0.1:0"))
+                .isTrue();
+        assertThat(EmbeddedConventions.isLoopback("http://localhost:8080"))
+                .isTrue();
+        assertThat(EmbeddedConventions.isLoopback("http://[::1]:8080"))
+                .isTrue();
+        assertThat(EmbeddedConventions.isLoopback("http://LOCALHOST:8080"))
+                .isTrue();
+        assertThat(EmbeddedConventions.isLoopback("http://127.1.2.3:8080"))
+                .isTrue();
+        assertThat(EmbeddedConventions.isLoopback("http://10.0.0.1:8080"))
+                .isFalse();
+        assertThat(EmbeddedConventions.isLoopback("http://[2001:db8::1]:8080"))
+                .isFalse();
+        assertThat(EmbeddedConventions.isLoopback("not a url"))
+                .isFalse();
+    }
+}
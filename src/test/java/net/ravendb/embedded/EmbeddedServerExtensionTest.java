@@ -0,0 +1,47 @@
+package net.ravendb.embedded;
+
+import net.ravendb.client.documents.IDocumentStore;
+import net.ravendb.client.documents.session.IDocumentSession;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmbeddedServerExtensionTest {
+
+    @RegisterExtension
+    static final EmbeddedServerExtension extension = new EmbeddedServerExtension(TestServerOptions::shared);
+
+    @Test
+    public void eachTestGetsItsOwnDatabase(IDocumentStore store, EmbeddedServer server) {
+        assertThat(store.getDatabase())
+                .startsWith("EmbeddedServerExtensionTest_eachTestGetsItsOwnDatabase_");
+
+        try (IDocumentSession session = store.openSession()) {
+            Person person = new Person();
+            person.setName("John");
+
+            session.store(person, "people/1");
+            session.saveChanges();
+        }
+
+        assertThat(server.getDocumentStore(store.getDatabase()))
+                .isSameAs(store);
+    }
+
+    @Test
+    public void databasesAreIsolated(IDocumentStore store) {
+        try (IDocumentSession session = store.openSession()) {
+            assertThat(session.load(Person.class, "people/1"))
+                    .isNull();
+        }
+    }
+
+    @Test
+    public void closedStoreIsRemovedFromCache(IDocumentStore store, EmbeddedServer server) {
+        server.closeCachedDocumentStore(store.getDatabase());
+
+        assertThat(server.getDocumentStore(store.getDatabase()))
+                .isNotSameAs(store);
+    }
+}
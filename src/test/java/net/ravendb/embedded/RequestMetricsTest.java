@@ -0,0 +1,119 @@
+package net.ravendb.embedded;
+
+import net.ravendb.client.documents.IDocumentStore;
+import net.ravendb.client.documents.session.IDocumentSession;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RequestMetricsTest {
+
+    @RegisterExtension
+    static final EmbeddedServerExtension extension = new EmbeddedServerExtension(TestServerOptions::shared);
+
+    @Test
+    public void recordsRequestsByDatabaseAndOperation(IDocumentStore store, EmbeddedServer embedded) throws Exception {
+        try (IDocumentSession session = store.openSession()) {
+            Person person = new Person();
+            person.setName("John");
+            session.store(person, "people/1");
+            session.saveChanges();
+        }
+
+        for (int i = 0; i < 10; i++) {
+            try (IDocumentSession session = store.openSession()) {
+                session.load(Person.class, "people/1");
+            }
+        }
+
+        List<RequestStatistics> statistics = embedded.getRequestStatistics(store.getDatabase());
+
+        Optional<RequestStatistics> loads = statistics.stream()
+                .filter(x -> "GET /docs".equals(x.getOperation()))
+                .findFirst();
+
+        assertThat(loads)
+                .isPresent();
+        assertThat(loads.get().getDatabase())
+                .isEqualTo(store.getDatabase());
+        assertThat(loads.get().getRequests())
+                .isEqualTo(10);
+        assertThat(loads.get().getErrors())
+                .isZero();
+        assertThat(loads.get().getP99Latency())
+                .isGreaterThan(Duration.ZERO)
+                .isLessThanOrEqualTo(loads.get().getMaxLatency());
+
+        assertThat(statistics)
+                .anyMatch(x -> "POST /bulk_docs".equals(x.getOperation()));
+
+        assertThat(embedded.getRequestStatistics())
+                .extracting(RequestStatistics::getDatabase)
+                .contains(store.getDatabase());
+    }
+
+    @Test
+    public void recordsRequestsOfSharedStoreByDatabase(EmbeddedServer embedded) throws Exception {
+        try (IDocumentSession session = embedded.openSession("RequestMetrics_Shared")) {
+            Person person = new Person();
+            person.setName("John");
+            session.store(person, "people/1");
+            session.saveChanges();
+        }
+
+        try (IDocumentSession session = embedded.openSession("RequestMetrics_Shared")) {
+            session.load(Person.class, "people/1");
+        }
+
+        assertThat(embedded.getRequestStatistics("RequestMetrics_Shared"))
+                .extracting(RequestStatistics::getOperation)
+                .contains("GET /docs", "POST /bulk_docs");
+    }
+
+    @Test
+    public void histogramPercentilesAreWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(Duration.ofMillis(i).toNanos());
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertThat(snapshot.getCount())
+                .isEqualTo(1000);
+        assertThat(snapshot.getMax())
+                .isEqualTo(Duration.ofMillis(1000));
+        assertThat(snapshot.getValueAtPercentile(50).toMillis())
+                .isBetween(500L, 563L);
+        assertThat(snapshot.getValueAtPercentile(99).toMillis())
+                .isBetween(990L, 1000L);
+
+        for (long micros : new long[]{0, 15, 16, 17, 1000, 123_456_789}) {
+            int index = LatencyHistogram.bucketIndex(micros);
+            assertThat(LatencyHistogram.bucketUpperBound(index))
+                    .isGreaterThanOrEqualTo(micros);
+            assertThat(index == 0 || LatencyHistogram.bucketUpperBound(index - 1) < micros)
+                    .isTrue();
+        }
+    }
+
+    @Test
+    public void operationIsRelativeToDatabase() {
+        assertThat(RequestInstrumentation.RequestContext.getOperation("GET", "/databases/Orders/docs"))
+                .isEqualTo("GET /docs");
+        assertThat(RequestInstrumentation.RequestContext.getOperation("POST", "/databases/Orders/streams/queries"))
+                .isEqualTo("POST /streams/queries");
+        assertThat(RequestInstrumentation.RequestContext.getOperation("GET", "/cluster/topology"))
+                .isEqualTo("GET /cluster/topology");
+
+        assertThat(RequestInstrumentation.RequestContext.getDatabase("/databases/Orders/docs"))
+                .isEqualTo("Orders");
+        assertThat(RequestInstrumentation.RequestContext.getDatabase("/cluster/topology"))
+                .isNull();
+    }
+}
@@ -0,0 +1,101 @@
+package net.ravendb.embedded;
+
+import net.ravendb.client.documents.IDocumentStore;
+import net.ravendb.client.documents.session.IDocumentSession;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResultCacheTest {
+
+    @RegisterExtension
+    static final EmbeddedServerExtension extension = new EmbeddedServerExtension(TestServerOptions::shared);
+
+    @Test
+    public void servesRepeatedReadsFromCacheUntilChanged(EmbeddedServer embedded) throws Exception {
+        DatabaseOptions databaseOptions = new DatabaseOptions("ResultCache");
+        databaseOptions.setResultCacheSizeInBytes(1024 * 1024);
+
+        IDocumentStore store = embedded.getDocumentStore(databaseOptions);
+        storePerson(store, "Marcin");
+
+        ResultCache cache = embedded.getResultCache(databaseOptions);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(cache.load(Person.class, "people/1").getName())
+                    .isEqualTo("Marcin");
+            List<Person> people = cache.query(Person.class, "from People");
+            assertThat(people)
+                    .hasSize(1);
+        }
+
+        ResultCacheStatistics statistics = cache.getStatistics();
+        assertThat(statistics.getMisses())
+                .isEqualTo(2);
+        assertThat(statistics.getHits())
+                .isEqualTo(18);
+        assertThat(statistics.getEntries())
+                .isEqualTo(2);
+        assertThat(statistics.getSizeInBytes())
+                .isPositive();
+
+        // returned entities are copies
+        cache.load(Person.class, "people/1").setName("Modified");
+        assertThat(cache.load(Person.class, "people/1").getName())
+                .isEqualTo("Marcin");
+
+        storePerson(store, "Karmel");
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (cache.getStatistics().getEntries() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        assertThat(cache.load(Person.class, "people/1").getName())
+                .isEqualTo("Karmel");
+        assertThat(cache.query(Person.class, "from People").get(0).getName())
+                .isEqualTo("Karmel");
+    }
+
+    @Test
+    public void doesNotCacheStaleIndexResults(EmbeddedServer embedded) throws Exception {
+        DatabaseOptions databaseOptions = new DatabaseOptions("ResultCache");
+        databaseOptions.setResultCacheSizeInBytes(1024 * 1024);
+
+        IDocumentStore store = embedded.getDocumentStore(databaseOptions);
+        storePerson(store, "Marcin");
+
+        ResultCache cache = embedded.getResultCache(databaseOptions);
+
+        // first query creates auto index, results stay uncached until it catches up
+        String query = "from People where name = 'Marcin'";
+
+        cache.query(Person.class, query);
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (cache.getStatistics().getEntries() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            cache.query(Person.class, query);
+        }
+
+        assertThat(cache.getStatistics().getEntries())
+                .isEqualTo(1);
+
+        long hits = cache.getStatistics().getHits();
+        assertThat(cache.query(Person.class, query))
+                .hasSize(1);
+        assertThat(cache.getStatistics().getHits())
+                .isEqualTo(hits + 1);
+    }
+
+    private static void storePerson(IDocumentStore store, String name) {
+        try (IDocumentSession session = store.openSession()) {
+            Person person = new Person();
+            person.setName(name);
+            session.store(person, "people/1");
+            session.saveChanges();
+        }
+    }
+}
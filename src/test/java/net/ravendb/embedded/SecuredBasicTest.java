@@ -13,8 +13,6 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Paths;
 
-import static org.assertj.core.api.Assertions.assertThat;
-
 public class SecuredBasicTest {
 
     public static final String SERVER_CERTIFICATE_LOCATION = "C:\\temp\\java_certs\\server.pfx";
@@ -0,0 +1,63 @@
+package net.ravendb.embedded;
+
+import net.ravendb.client.primitives.CleanCloseable;
+import net.ravendb.client.primitives.Reference;
+import org.apache.commons.lang3.SystemUtils;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Paths;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ServerMBeanTest {
+
+    @Test
+    public void registersMBeanWithProcessResourceUsage() throws Exception {
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name;
+
+        Reference<String> tempDir = new Reference<>();
+        try (CleanCloseable context = DirUtils.withTemporaryDir(tempDir)) {
+            try (EmbeddedServer embedded = new EmbeddedServer()) {
+                ServerOptions serverOptions = new ServerOptions();
+                serverOptions.setTargetServerLocation(Paths.get(tempDir.value, "RavenDBServer").toString());
+                serverOptions.setDataDirectory(Paths.get(tempDir.value, "RavenDB").toString());
+                serverOptions.setLogsPath(Paths.get(tempDir.value, "Logs").toString());
+                serverOptions.provider = new CopyServerFromNugetProvider();
+                embedded.startServer(serverOptions);
+
+                embedded.getDocumentStore("Test");
+
+                name = embedded.getMonitor().getObjectName();
+                assertThat(mBeanServer.isRegistered(name))
+                        .isTrue();
+
+                assertThat(mBeanServer.getAttribute(name, "Pid"))
+                        .isEqualTo(ProcessUtils.getPid(embedded.getServerProcess()));
+                assertThat(mBeanServer.getAttribute(name, "ServerUrl"))
+                        .isEqualTo(embedded.getServerUri());
+                assertThat(mBeanServer.getAttribute(name, "OpenDocumentStoreCount"))
+                        .isEqualTo(1);
+
+                if (SystemUtils.IS_OS_LINUX) {
+                    assertThat((long) mBeanServer.getAttribute(name, "ResidentMemoryBytes"))
+                            .isPositive();
+                    assertThat((long) mBeanServer.getAttribute(name, "CpuTimeMillis"))
+                            .isPositive();
+                    assertThat((int) mBeanServer.getAttribute(name, "ThreadCount"))
+                            .isPositive();
+                    assertThat((int) mBeanServer.getAttribute(name, "OpenFileDescriptorCount"))
+                            .isPositive();
+                    assertThat((long) mBeanServer.getAttribute(name, "UptimeMillis"))
+                            .isNotNegative();
+                }
+            }
+        }
+
+        assertThat(mBeanServer.isRegistered(name))
+                .isFalse();
+    }
+}
@@ -0,0 +1,51 @@
+package net.ravendb.embedded;
+
+import net.ravendb.client.documents.IDocumentStore;
+import net.ravendb.client.documents.session.IDocumentSession;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.time.Duration;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ServerMetricsTest {
+
+    private static final SimpleMetricsRegistry registry = new SimpleMetricsRegistry();
+
+    @RegisterExtension
+    static final EmbeddedServerExtension extension = new EmbeddedServerExtension(() -> {
+        ServerOptions serverOptions = TestServerOptions.create("ServerMetricsTest");
+        serverOptions.setMetricsRegistry(registry);
+        serverOptions.setMetricsCollectionInterval(Duration.ofMinutes(10));
+        return serverOptions;
+    }, EmbeddedServerExtension.Scope.CLASS);
+
+    @Test
+    public void publishesServerAndDatabaseStatistics(IDocumentStore store, EmbeddedServer embedded) throws Exception {
+        try (IDocumentSession session = store.openSession()) {
+            Person person = new Person();
+            person.setName("John");
+            session.store(person, "people/1");
+            session.saveChanges();
+        }
+
+        embedded.getMetricsCollector().scrape();
+
+        assertThat(registry.getValues().keySet())
+                .anyMatch(name -> name.startsWith("ravendb.server.memory."));
+        assertThat(registry.getGauge("ravendb.database.counts.documents", Collections.singletonMap("database", store.getDatabase())))
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    public void convertsFieldNamesToMetricNames() {
+        assertThat(ServerMetricsCollector.toMetricName("AllocatedMemoryInMb"))
+                .isEqualTo("allocated_memory_in_mb");
+        assertThat(ServerMetricsCollector.toMetricName("MachineIOWait"))
+                .isEqualTo("machine_io_wait");
+        assertThat(ServerMetricsCollector.toMetricName("Documents"))
+                .isEqualTo("documents");
+    }
+}
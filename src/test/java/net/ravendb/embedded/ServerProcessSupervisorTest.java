@@ -0,0 +1,66 @@
+package net.ravendb.embedded;
+
+import net.ravendb.client.documents.IDocumentStore;
+import net.ravendb.client.documents.session.IDocumentSession;
+import net.ravendb.client.primitives.CleanCloseable;
+import net.ravendb.client.primitives.Reference;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ServerProcessSupervisorTest {
+
+    @Test
+    public void restartsCrashedServerOnTheSameUrl() throws Exception {
+        Reference<String> tempDir = new Reference<>();
+        try (CleanCloseable context = DirUtils.withTemporaryDir(tempDir)) {
+            try (EmbeddedServer embedded = new EmbeddedServer()) {
+                ServerOptions serverOptions = new ServerOptions();
+                serverOptions.setTargetServerLocation(Paths.get(tempDir.value, "RavenDBServer").toString());
+                serverOptions.setDataDirectory(Paths.get(tempDir.value, "RavenDB").toString());
+                serverOptions.setLogsPath(Paths.get(tempDir.value, "Logs").toString());
+                serverOptions.provider = new CopyServerFromNugetProvider();
+                serverOptions.setRestartOnFailure(true);
+                serverOptions.setRestartBackoff(Duration.ofMillis(100));
+                embedded.startServer(serverOptions);
+
+                String serverUrl = embedded.getServerUri();
+
+                IDocumentStore store = embedded.getDocumentStore("Test");
+                try (IDocumentSession session = store.openSession()) {
+                    Person person = new Person();
+                    person.setName("John");
+
+                    session.store(person, "people/1");
+                    session.saveChanges();
+                }
+
+                embedded.getServerProcess().destroyForcibly().waitFor();
+
+                long deadline = System.currentTimeMillis() + Duration.ofMinutes(1).toMillis();
+                while (embedded.getRestartCount() == 0 && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(100);
+                }
+
+                assertThat(embedded.getRestartCount())
+                        .isEqualTo(1);
+                assertThat(embedded.getServerUri())
+                        .isEqualTo(serverUrl);
+                assertThat(embedded.getServerDowntime())
+                        .isPositive();
+                // pinned port is kept by the supervisor, caller's options are not modified
+                assertThat(serverOptions.getServerUrl())
+                        .isNotEqualTo(serverUrl);
+
+                try (IDocumentSession session = store.openSession()) {
+                    Person person = session.load(Person.class, "people/1");
+                    assertThat(person.getName())
+                            .isEqualTo("John");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package net.ravendb.embedded;
+
+import net.ravendb.client.documents.IDocumentStore;
+import net.ravendb.client.documents.operations.GetStatisticsOperation;
+import net.ravendb.client.documents.session.IDocumentSession;
+import net.ravendb.client.documents.smuggler.DatabaseSmugglerExportOptions;
+import net.ravendb.client.primitives.CleanCloseable;
+import net.ravendb.client.primitives.Reference;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ServerSideImportTest {
+
+    @RegisterExtension
+    static final EmbeddedServerExtension extension = new EmbeddedServerExtension(TestServerOptions::shared);
+
+    @Test
+    public void serverImportsDumpFromPath(IDocumentStore source, EmbeddedServer embedded) throws Exception {
+        Reference<String> tempDir = new Reference<>();
+        try (CleanCloseable context = DirUtils.withTemporaryDir(tempDir)) {
+            try (IDocumentSession session = source.openSession()) {
+                for (int i = 1; i <= 10; i++) {
+                    Person person = new Person();
+                    person.setName("Person " + i);
+                    session.store(person, "people/" + i);
+                }
+                session.saveChanges();
+            }
+
+            Files.createDirectories(Paths.get(tempDir.value, "dumps"));
+            String dump = Paths.get(tempDir.value, "dumps", "people.ravendbdump").toString();
+            source.smuggler().exportAsync(new DatabaseSmugglerExportOptions(), dump).waitForCompletion();
+
+            String importedName = source.getDatabase() + "_Imported";
+
+            List<ServerImportProgress> progress = new CopyOnWriteArrayList<>();
+            embedded.importFromPath(importedName, Paths.get(tempDir.value, "dumps").toString(), progress::add)
+                    .get(1, TimeUnit.MINUTES);
+
+            IDocumentStore imported = embedded.getDocumentStore(importedName);
+            assertThat(imported.maintenance().send(new GetStatisticsOperation()).getCountOfDocuments())
+                    .isEqualTo(10);
+
+            ServerImportProgress last = progress.get(progress.size() - 1);
+            assertThat(last.getCompletedFiles())
+                    .isEqualTo(1);
+            assertThat(last.getCurrentFile())
+                    .isNull();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package net.ravendb.embedded;
+
+import net.ravendb.client.documents.session.IDocumentSession;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SharedDocumentStoreTest {
+
+    @RegisterExtension
+    static final EmbeddedServerExtension extension = new EmbeddedServerExtension(TestServerOptions::shared);
+
+    @Test
+    public void canUseManyDatabasesThroughSharedStore(EmbeddedServer embedded) throws Exception {
+        for (int i = 0; i < 5; i++) {
+            try (IDocumentSession session = embedded.openSession("SharedStore_Tenant_" + i)) {
+                Person person = new Person();
+                person.setName("Person " + i);
+                session.store(person, "people/1");
+                session.saveChanges();
+            }
+        }
+
+        for (int i = 0; i < 5; i++) {
+            try (IDocumentSession session = embedded.openSession("SharedStore_Tenant_" + i)) {
+                assertThat(session.load(Person.class, "people/1").getName())
+                        .isEqualTo("Person " + i);
+            }
+        }
+
+        assertThat(embedded.getSharedDocumentStore().getDatabase())
+                .isNull();
+    }
+}
@@ -0,0 +1,107 @@
+package net.ravendb.embedded;
+
+import net.ravendb.client.documents.IDocumentStore;
+import net.ravendb.client.documents.session.IDocumentSession;
+import net.ravendb.client.primitives.CleanCloseable;
+import net.ravendb.client.primitives.Reference;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Paths;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SharedServerTest {
+
+    @Test
+    public void lastParticipantStopsSharedServer() throws Exception {
+        Reference<String> tempDir = new Reference<>();
+        try (CleanCloseable context = DirUtils.withTemporaryDir(tempDir)) {
+            EmbeddedServer first = new EmbeddedServer();
+            first.startServer(createOptions(tempDir.value, "first_"));
+
+            long pid = ProcessUtils.getPid(first.getServerProcess());
+
+            EmbeddedServer second = new EmbeddedServer();
+            second.startServer(createOptions(tempDir.value, "second_"));
+
+            assertThat(second.getServerProcess())
+                    .isNull();
+            assertThat(second.getServerUri())
+                    .isEqualTo(first.getServerUri());
+
+            IDocumentStore firstStore = first.getDocumentStore("Test");
+            IDocumentStore secondStore = second.getDocumentStore("Test");
+
+            assertThat(firstStore.getDatabase())
+                    .isEqualTo("first_Test");
+            assertThat(secondStore.getDatabase())
+                    .isEqualTo("second_Test");
+
+            first.close();
+
+            assertThat(ProcessUtils.isAlive(pid))
+                    .isTrue();
+
+            second.close();
+
+            assertThat(ProcessUtils.isAlive(pid))
+                    .isFalse();
+        }
+    }
+
+    @Test
+    public void participantsHaveToSetDatabaseNamePrefix() throws Exception {
+        Reference<String> tempDir = new Reference<>();
+        try (CleanCloseable context = DirUtils.withTemporaryDir(tempDir)) {
+            try (EmbeddedServer embedded = new EmbeddedServer()) {
+                assertThatThrownBy(() -> embedded.startServer(createOptions(tempDir.value, null)))
+                        .isInstanceOf(IllegalArgumentException.class)
+                        .hasMessageContaining("databaseNamePrefix");
+            }
+
+            try (EmbeddedServer first = new EmbeddedServer();
+                 EmbeddedServer unprefixed = new EmbeddedServer()) {
+                first.startServer(createOptions(tempDir.value, "first_"));
+                unprefixed.startServer(createOptions(tempDir.value, ""));
+
+                IDocumentStore firstStore = first.getDocumentStore("Test");
+                assertThat(firstStore.getDatabase())
+                        .isEqualTo("first_Test");
+
+                try (IDocumentSession session = firstStore.openSession()) {
+                    Person person = new Person();
+                    person.setName("John");
+                    session.store(person, "people/1");
+                    session.saveChanges();
+                }
+
+                // explicit empty prefix opts out
+                assertThat(unprefixed.getDocumentStore("Test").getDatabase())
+                        .isEqualTo("Test");
+            }
+
+            // prefix is stable, so participant gets its databases back after restart
+            try (EmbeddedServer first = new EmbeddedServer()) {
+                first.startServer(createOptions(tempDir.value, "first_"));
+
+                try (IDocumentSession session = first.getDocumentStore("Test").openSession()) {
+                    assertThat(session.load(Person.class, "people/1").getName())
+                            .isEqualTo("John");
+                }
+            }
+        }
+    }
+
+    private static ServerOptions createOptions(String tempDir, String databaseNamePrefix) {
+        ServerOptions serverOptions = new ServerOptions();
+        serverOptions.setTargetServerLocation(Paths.get(tempDir, "RavenDBServer").toString());
+        serverOptions.setDataDirectory(Paths.get(tempDir, "RavenDB").toString());
+        serverOptions.setLogsPath(Paths.get(tempDir, "Logs").toString());
+        serverOptions.setSharedServerDirectory(Paths.get(tempDir, "Shared").toString());
+        serverOptions.setDatabaseNamePrefix(databaseNamePrefix);
+        serverOptions.setShared(true);
+        serverOptions.provider = new CopyServerFromNugetProvider();
+        return serverOptions;
+    }
+}
@@ -0,0 +1,62 @@
+package net.ravendb.embedded;
+
+import net.ravendb.client.documents.IDocumentStore;
+import net.ravendb.client.documents.session.IDocumentSession;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SlowRequestTest {
+
+    @RegisterExtension
+    static final EmbeddedServerExtension extension = new EmbeddedServerExtension(() -> {
+        ServerOptions serverOptions = TestServerOptions.create("SlowRequestTest");
+        // every request is slow
+        serverOptions.setSlowRequestThreshold(Duration.ZERO);
+        serverOptions.setSlowRequestCapacity(5);
+        return serverOptions;
+    }, EmbeddedServerExtension.Scope.CLASS);
+
+    @Test
+    public void keepsMostRecentRequestsOverThreshold(IDocumentStore store, EmbeddedServer embedded) throws Exception {
+        for (int i = 0; i < 10; i++) {
+            try (IDocumentSession session = store.openSession()) {
+                session.load(Person.class, "people/" + i);
+            }
+        }
+
+        try (IDocumentSession session = store.openSession()) {
+            session.advanced().rawQuery(Person.class, "from People").toList();
+        }
+
+        List<SlowRequest> slowRequests = embedded.getSlowRequests();
+
+        assertThat(slowRequests)
+                .hasSize(5);
+        assertThat(embedded.getSlowRequestCount())
+                .isGreaterThanOrEqualTo(11);
+
+        SlowRequest newest = slowRequests.get(0);
+        assertThat(newest.getOperation())
+                .isEqualTo("POST /queries");
+        assertThat(newest.getDatabase())
+                .isEqualTo(store.getDatabase());
+        assertThat(newest.getDuration())
+                .isGreaterThan(Duration.ZERO);
+        assertThat(newest.getStatusCode())
+                .isEqualTo(200);
+
+        assertThat(slowRequests)
+                .isSortedAccordingTo((a, b) -> b.getTimestamp().compareTo(a.getTimestamp()));
+
+        String[] fromJmx = (String[]) ManagementFactory.getPlatformMBeanServer()
+                .getAttribute(embedded.getMonitor().getObjectName(), "SlowRequests");
+        assertThat(fromJmx)
+                .hasSize(5);
+    }
+}
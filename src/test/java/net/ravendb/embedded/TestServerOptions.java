@@ -0,0 +1,40 @@
+package net.ravendb.embedded;
+
+import org.apache.commons.io.FileUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Options of servers started by {@link EmbeddedServerExtension}. Every server gets its own directory
+ * under target, data and logs left by previous runs are removed.
+ */
+public class TestServerOptions {
+
+    /**
+     * @return options of the server shared by all test classes using JVM scoped extension
+     */
+    public static ServerOptions shared() {
+        return create("shared");
+    }
+
+    public static ServerOptions create(String name) {
+        Path root = Paths.get("target", "embedded-tests", name).toAbsolutePath();
+
+        try {
+            FileUtils.deleteDirectory(root.resolve("RavenDB").toFile());
+            FileUtils.deleteDirectory(root.resolve("Logs").toFile());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        ServerOptions serverOptions = new ServerOptions();
+        serverOptions.setTargetServerLocation(root.resolve("RavenDBServer").toString());
+        serverOptions.setDataDirectory(root.resolve("RavenDB").toString());
+        serverOptions.setLogsPath(root.resolve("Logs").toString());
+        serverOptions.provider = new CopyServerFromNugetProvider();
+        return serverOptions;
+    }
+}
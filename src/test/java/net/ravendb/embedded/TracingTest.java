@@ -0,0 +1,118 @@
+package net.ravendb.embedded;
+
+import net.ravendb.client.documents.IDocumentStore;
+import net.ravendb.client.documents.session.IDocumentSession;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TracingTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String CALLER_SPAN_ID = "00f067aa0ba902b7";
+
+    private static final InMemoryTraceExporter exporter = new InMemoryTraceExporter() {
+        @Override
+        public String currentTraceParent() {
+            return "00-" + TRACE_ID + "-" + CALLER_SPAN_ID + "-01";
+        }
+    };
+
+    @RegisterExtension
+    static final EmbeddedServerExtension extension = new EmbeddedServerExtension(() -> {
+        ServerOptions serverOptions = TestServerOptions.create("TracingTest");
+        serverOptions.setTraceExporter(exporter);
+        return serverOptions;
+    }, EmbeddedServerExtension.Scope.CLASS);
+
+    @Test
+    public void emitsSpansForStartupPhasesAndRequests(EmbeddedServer embedded) throws Exception {
+        Map<String, TraceSpan> startup = exporter.getSpans().stream()
+                .collect(Collectors.toMap(TraceSpan::getName, Function.identity()));
+
+        TraceSpan runServer = startup.get("EmbeddedServer.runServer");
+        assertThat(runServer)
+                .isNotNull();
+        assertThat(runServer.getTraceId())
+                .isEqualTo(TRACE_ID);
+        assertThat(runServer.getParentSpanId())
+                .isEqualTo(CALLER_SPAN_ID);
+
+        for (String phase : new String[]{"EmbeddedServer.provideServerFiles", "EmbeddedServer.spawnServerProcess", "EmbeddedServer.waitForServerUrl"}) {
+            assertThat(startup.get(phase))
+                    .isNotNull();
+            assertThat(startup.get(phase).getParentSpanId())
+                    .isEqualTo(runServer.getSpanId());
+        }
+
+        exporter.clear();
+
+        IDocumentStore store = embedded.getDocumentStore("Tracing");
+        try (IDocumentSession session = store.openSession()) {
+            Person person = new Person();
+            person.setName("John");
+            session.store(person, "people/1");
+            session.saveChanges();
+        }
+
+        try (IDocumentSession session = store.openSession()) {
+            session.load(Person.class, "people/1");
+        }
+
+        List<TraceSpan> loads = exporter.getSpans().stream()
+                .filter(x -> x.getName().equals("RavenDB GET /docs"))
+                .collect(Collectors.toList());
+
+        assertThat(loads)
+                .hasSize(1);
+
+        TraceSpan load = loads.get(0);
+        assertThat(load.getKind())
+                .isEqualTo(TraceSpan.Kind.CLIENT);
+        assertThat(load.getTraceId())
+                .isEqualTo(TRACE_ID);
+        assertThat(load.getParentSpanId())
+                .isEqualTo(CALLER_SPAN_ID);
+        assertThat(load.getAttributes())
+                .containsEntry("db.name", "Tracing")
+                .containsEntry("http.status_code", "200");
+    }
+
+    @Test
+    public void failingExporterStartsNewTrace() {
+        InMemoryTraceExporter failing = new InMemoryTraceExporter() {
+            @Override
+            public String currentTraceParent() {
+                throw new IllegalStateException("No context");
+            }
+        };
+
+        EmbeddedTracer tracer = new EmbeddedTracer(failing);
+        assertThat(tracer.trace("action", () -> "result"))
+                .isEqualTo("result");
+
+        assertThat(failing.getSpans())
+                .hasSize(1);
+        assertThat(failing.getSpans().get(0).getParentSpanId())
+                .isNull();
+        assertThat(failing.getSpans().get(0).getTraceId())
+                .hasSize(32)
+                .isNotEqualTo(TRACE_ID);
+    }
+
+    @Test
+    public void parsesTraceParent() {
+        assertThat(EmbeddedTracer.parseTraceParent("00-" + TRACE_ID + "-" + CALLER_SPAN_ID + "-01"))
+                .containsExactly(TRACE_ID, CALLER_SPAN_ID);
+        assertThat(EmbeddedTracer.parseTraceParent("invalid"))
+                .isNull();
+        assertThat(EmbeddedTracer.parseTraceParent(null))
+                .isNull();
+    }
+}